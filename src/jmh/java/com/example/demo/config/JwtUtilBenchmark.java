@@ -0,0 +1,50 @@
+package com.example.demo.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Token parsing, signature verification and generation in {@link JwtUtil}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken("user", "USER");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, "user");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("user", "USER");
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * {@link Student#getAge()} and Jackson serialization of students, configured like the
+ * application's ObjectMapper (ISO dates, JavaTimeModule)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentBenchmark {
+
+    @Param({"100", "10000"})
+    private int listSize;
+
+    private ObjectMapper objectMapper;
+    private Student student;
+    private List<Student> students;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        student = new Student(1L, "Mariam", "mariam.jamal@gmail.com", LocalDate.of(2000, 1, 5));
+        students = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            students.add(new Student((long) i, "Student " + i, "student" + i + "@example.com",
+                    LocalDate.of(1980 + i % 30, 1 + i % 12, 1 + i % 28)));
+        }
+    }
+
+    @Benchmark
+    public Integer getAge() {
+        return student.getAge();
+    }
+
+    @Benchmark
+    public byte[] serializeStudent() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(student);
+    }
+
+    @Benchmark
+    public byte[] serializeStudentList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(students);
+    }
+}
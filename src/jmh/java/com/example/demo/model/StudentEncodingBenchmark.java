@@ -0,0 +1,86 @@
+package com.example.demo.model;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Encode and decode cost of a large student list in each negotiable format (JSON, CBOR, Smile).
+ * The encoded size of the list, the bytes on the wire, is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentEncodingBenchmark {
+
+    private static final TypeReference<List<Student>> STUDENT_LIST = new TypeReference<>() { };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1000", "100000"})
+    private int listSize;
+
+    private ObjectMapper objectMapper;
+    private List<Student> students;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        MapperBuilder<?, ?> builder = switch (format) {
+            case "cbor" -> CBORMapper.builder();
+            case "smile" -> SmileMapper.builder();
+            default -> JsonMapper.builder();
+        };
+        // Same settings as the application's mappers; age is read-only, so ignore it when decoding
+        objectMapper = builder
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        students = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            students.add(new Student((long) i, "Student " + i, "student" + i + "@example.com",
+                    LocalDate.of(1980 + i % 30, 1 + i % 12, 1 + i % 28)));
+        }
+        encoded = objectMapper.writeValueAsBytes(students);
+        System.out.printf("%n%s, %d students: %,d bytes (%.1f per student)%n",
+                format, listSize, encoded.length, (double) encoded.length / listSize);
+    }
+
+    @Benchmark
+    public byte[] encodeList() throws IOException {
+        return objectMapper.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public List<Student> decodeList() throws IOException {
+        return objectMapper.readValue(encoded, STUDENT_LIST);
+    }
+}
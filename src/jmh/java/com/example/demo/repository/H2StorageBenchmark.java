@@ -0,0 +1,139 @@
+package com.example.demo.repository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Insert and read throughput of a file-based H2 database opened with the prod settings versus the
+ * {@code performance} profile's settings, with and without memory-mapped file access. The database
+ * file size after the run, before and after the compaction on close, is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class H2StorageBenchmark {
+
+    private static final int PRELOADED_STUDENTS = 100_000;
+    private static final int BATCH_SIZE = 100;
+
+    // Defaults of application-performance.properties
+    private static final String TUNED_SETTINGS =
+            ";CACHE_SIZE=262144;WRITE_DELAY=2000;AUTO_COMPACT_FILL_RATE=80;MAX_COMPACT_TIME=2000";
+
+    @Param({"default", "tuned", "tuned-nio"})
+    private String storage;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private PreparedStatement selectById;
+    private long nextId;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("h2-storage-benchmark");
+        String path = directory.resolve("students").toString();
+        String url = switch (storage) {
+            case "tuned" -> "jdbc:h2:file:" + path + TUNED_SETTINGS;
+            case "tuned-nio" -> "jdbc:h2:nioMapped:" + path + TUNED_SETTINGS;
+            default -> "jdbc:h2:file:" + path;
+        };
+        connection = DriverManager.getConnection(url, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            // Same shape as the student table created by the migrations
+            statement.execute("CREATE TABLE student (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL,"
+                    + " email VARCHAR(255) NOT NULL UNIQUE, dob DATE NOT NULL, version BIGINT NOT NULL)");
+            statement.execute("CREATE INDEX idx_student_dob ON student (dob)");
+        }
+        insert = connection.prepareStatement("INSERT INTO student (id, name, email, dob, version) VALUES (?, ?, ?, ?, 0)");
+        selectById = connection.prepareStatement("SELECT id, name, email, dob, version FROM student WHERE id = ?");
+
+        connection.setAutoCommit(false);
+        while (nextId < PRELOADED_STUDENTS) {
+            insertBatch();
+        }
+        connection.setAutoCommit(true);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        long openSize = databaseSize();
+        connection.close();
+        System.out.printf("%n%s, %,d students: %,d bytes open, %,d bytes after close%n",
+                storage, nextId, openSize, databaseSize());
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * One committed batch of new students; throughput is reported per student
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long id = nextId++;
+            insert.setLong(1, id);
+            insert.setString(2, "Student " + id);
+            insert.setString(3, "student" + id + "@example.com");
+            insert.setDate(4, Date.valueOf(LocalDate.of(1980 + (int) (id % 30), 1 + (int) (id % 12), 1 + (int) (id % 28))));
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+        connection.setAutoCommit(autoCommit);
+    }
+
+    @Benchmark
+    public String readById() throws SQLException {
+        selectById.setLong(1, ThreadLocalRandom.current().nextLong(PRELOADED_STUDENTS));
+        try (ResultSet rs = selectById.executeQuery()) {
+            return rs.next() ? rs.getString("email") : null;
+        }
+    }
+
+    private long databaseSize() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            long size = 0;
+            for (Path file : files.toList()) {
+                size += Files.size(file);
+            }
+            return size;
+        }
+    }
+}
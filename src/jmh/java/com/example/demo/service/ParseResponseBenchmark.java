@@ -0,0 +1,67 @@
+package com.example.demo.service;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link ExternalApiService#parseResponse} on JSON bodies of increasing size
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseResponseBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int records;
+
+    private ExternalApiService externalApiService;
+    private ResponseEntity<String> response;
+
+    @Setup
+    public void setUp() {
+        externalApiService = new ExternalApiService();
+        ReflectionTestUtils.setField(externalApiService, "objectMapper", new ObjectMapper());
+
+        StringBuilder body = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"id\":").append(i)
+                    .append(",\"name\":\"University ").append(i)
+                    .append("\",\"country\":\"Tunisia\",\"web_pages\":[\"https://u").append(i).append(".example.tn\"]}");
+        }
+        body.append("]}");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        response = new ResponseEntity<>(body.toString(), headers, HttpStatus.OK);
+    }
+
+    @Benchmark
+    public Map<String, Object> parseResponse() {
+        return externalApiService.parseResponse(response);
+    }
+}
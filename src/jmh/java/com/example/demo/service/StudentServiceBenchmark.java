@@ -0,0 +1,102 @@
+package com.example.demo.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.cache.StudentEntityCache;
+import com.example.demo.cache.StudentSearchCache;
+import com.example.demo.model.Student;
+import com.example.demo.repository.StudentRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * In-memory age filtering and statistics in {@link StudentService}, with the repository stubbed
+ * so only the Java-side work is measured. {@code ageIndex} compares the full scan with {@link StudentAgeIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    private int studentCount;
+
+    @Param({"false", "true"})
+    private boolean ageIndex;
+
+    private StudentService studentService;
+
+    @Setup
+    public void setUp() {
+        List<Student> students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            students.add(new Student((long) i, "Student " + i, "student" + i + "@example.com",
+                    LocalDate.of(1970 + i % 40, 1 + i % 12, 1 + i % 28)));
+        }
+
+        // stubOnly: do not record invocations, which would grow without bound over a run
+        StudentRepository studentRepository = mock(StudentRepository.class, withSettings().stubOnly());
+        when(studentRepository.findAll()).thenReturn(students);
+        when(studentRepository.countAllStudents()).thenReturn((long) studentCount);
+        when(studentRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Student> found = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                found.add(students.get(id.intValue()));
+            }
+            return found;
+        });
+
+        StudentByIdBatchLoader batchLoader = new StudentByIdBatchLoader(
+                studentRepository, new SimpleMeterRegistry(), false, 1000, 50, 5000, false);
+        StudentAgeIndex studentAgeIndex = new StudentAgeIndex(studentRepository, ageIndex);
+        if (ageIndex) {
+            List<Object[]> idAndDobRows = new ArrayList<>(studentCount);
+            for (Student student : students) {
+                idAndDobRows.add(new Object[] {student.getId(), student.getDob()});
+            }
+            studentAgeIndex.rebuild(idAndDobRows);
+        }
+        StudentSearchCache searchCache = new StudentSearchCache(new StudentTableVersion(), false, 0, 0);
+        studentService = new StudentService(studentRepository, event -> { }, batchLoader, studentAgeIndex,
+                searchCache, new StudentEntityCache(studentRepository, 0));
+    }
+
+    @Benchmark
+    public List<Student> getStudentsByAgeRange() {
+        return studentService.getStudentsByAgeRange(20, 30);
+    }
+
+    @Benchmark
+    public List<Student> getStudentsOlderThan() {
+        return studentService.getStudentsOlderThan(35);
+    }
+
+    @Benchmark
+    public Map<String, Object> getStudentStatistics() {
+        return studentService.getStudentStatistics();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.loadtest;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+import org.flywaydb.core.Flyway;
+
+/**
+ * Bulk-loads synthetic students into an H2 database for load testing.
+ * The schema is brought up to date with the application's Flyway migrations first, so an empty
+ * database file works. Emails are unique (they embed a running sequence number) and dates of
+ * birth follow a student-like age distribution: mostly 17-26, with a long tail of mature students.
+ *
+ * <p>Options: {@code --url} (default the prod file database, opened with the {@code H2_FILE_ACCESS}
+ * prefix the performance profile uses), {@code --user}, {@code --password},
+ * {@code --students} (default 1,000,000), {@code --batch-size} (default 5,000), {@code --seed}.
+ * Stop the application first when targeting a file database.
+ */
+public final class DatasetGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "Adam", "Amira", "Ahmed", "Aya", "Ben", "Chloe", "Daniel", "Emma", "Fatma", "Hana",
+            "Hugo", "Ines", "James", "Karim", "Lea", "Lina", "Lucas", "Mariam", "Mehdi", "Mia",
+            "Mohamed", "Nour", "Olivia", "Omar", "Rayen", "Sara", "Sofia", "Tom", "Yasmine", "Youssef"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Ali", "Ben Salah", "Bouazizi", "Brown", "Chaabane", "Dubois", "Garcia", "Gharbi", "Hammami",
+            "Jamal", "Johnson", "Karoui", "Lefebvre", "Martin", "Mejri", "Miller", "Nasri", "Rossi",
+            "Smith", "Trabelsi", "Williams", "Zouari"
+    };
+
+    // Weighted towards the common providers, like real sign-ups
+    private static final String[] EMAIL_DOMAINS = {
+            "gmail.com", "gmail.com", "gmail.com", "gmail.com", "outlook.com", "outlook.com",
+            "yahoo.com", "hotmail.com", "icloud.com", "university.edu"
+    };
+
+    private DatasetGenerator() {
+    }
+
+    public static void main(String[] rawArgs) throws SQLException {
+        LoadTestArgs args = new LoadTestArgs(rawArgs);
+        String fileAccess = System.getenv().getOrDefault("H2_FILE_ACCESS", "file");
+        String url = args.get("url", "jdbc:h2:" + fileAccess + ":./data/proddb;DB_CLOSE_ON_EXIT=FALSE");
+        String user = args.get("user", "sa");
+        String password = args.get("password", "");
+        long students = args.getLong("students", 1_000_000L);
+        int batchSize = args.getInt("batch-size", 5_000);
+        SplittableRandom random = new SplittableRandom(args.getLong("seed", 42L));
+
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            long sequence = nextSequence(connection);
+            LocalDate today = LocalDate.now();
+            long started = System.nanoTime();
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO student (name, email, dob) VALUES (?, ?, ?)")) {
+                for (long i = 0; i < students; i++) {
+                    String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                    String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                    insert.setString(1, firstName + " " + lastName);
+                    insert.setString(2, email(firstName, lastName, sequence + i, random));
+                    insert.setDate(3, Date.valueOf(dateOfBirth(today, random)));
+                    insert.addBatch();
+
+                    if ((i + 1) % batchSize == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                        if ((i + 1) % (batchSize * 20L) == 0) {
+                            report(i + 1, students, started);
+                        }
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+            report(students, students, started);
+        }
+    }
+
+    /**
+     * Continue numbering after any previous run so emails stay unique across runs
+     */
+    private static long nextSequence(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM student")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String email(String firstName, String lastName, long sequence, SplittableRandom random) {
+        String local = (firstName + "." + lastName).toLowerCase().replace(' ', '-');
+        return local + "." + sequence + "@" + EMAIL_DOMAINS[random.nextInt(EMAIL_DOMAINS.length)];
+    }
+
+    /**
+     * 85% aged 17-26 (normal around 21), 15% mature students aged 27-65
+     */
+    private static LocalDate dateOfBirth(LocalDate today, SplittableRandom random) {
+        double ageYears;
+        if (random.nextDouble() < 0.85) {
+            ageYears = Math.clamp(21.0 + random.nextGaussian() * 2.0, 17.0, 26.99);
+        } else {
+            ageYears = 27.0 + random.nextDouble() * 38.0;
+        }
+        return today.minusDays((long) (ageYears * 365.25));
+    }
+
+    private static void report(long done, long total, long startedNanos) {
+        double seconds = (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+        System.out.printf("Inserted %,d / %,d students in %.1fs (%,.0f rows/s)%n",
+                done, total, seconds, done / Math.max(seconds, 0.001));
+    }
+}
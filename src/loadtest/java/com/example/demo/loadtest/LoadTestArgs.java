@@ -0,0 +1,45 @@
+package com.example.demo.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal {@code --key=value} command-line parser shared by the load-test tools
+ */
+final class LoadTestArgs {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    LoadTestArgs(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+    }
+
+    String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    long getLong(String key, long defaultValue) {
+        String value = values.get(key);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-loop load generator for the running API.
+ * Logs in once for a JWT, then issues requests at a fixed target rate regardless of how fast
+ * responses come back. Latency is measured from each request's scheduled start, so queueing
+ * delay is included rather than hidden (no coordinated omission). Reports throughput and
+ * p50/p99/p99.9 per endpoint.
+ *
+ * <p>Options: {@code --base-url} (default http://localhost:8080), {@code --username},
+ * {@code --password}, {@code --rps} (default 100), {@code --duration} seconds (default 60),
+ * {@code --warmup} seconds (default 10), {@code --max-in-flight} (default 1000),
+ * {@code --max-id} largest student id to request (default 1000000), and
+ * {@code --mix} weighted endpoint mix, e.g. {@code byId:60,search:25,count:10,statistics:5}.
+ */
+public final class ScenarioRunner {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private static final String[] NAME_FRAGMENTS = {"adam", "sara", "mohamed", "lina", "smith", "trabelsi", "jo"};
+
+    private ScenarioRunner() {
+    }
+
+    public static void main(String[] rawArgs) throws IOException, InterruptedException {
+        LoadTestArgs args = new LoadTestArgs(rawArgs);
+        String baseUrl = args.get("base-url", "http://localhost:8080");
+        int rps = args.getInt("rps", 100);
+        int durationSeconds = args.getInt("duration", 60);
+        int warmupSeconds = args.getInt("warmup", 10);
+        int maxInFlight = args.getInt("max-in-flight", 1000);
+        long maxId = args.getLong("max-id", 1_000_000L);
+
+        Map<String, Function<ThreadLocalRandom, String>> endpoints = endpoints(maxId);
+        List<Endpoint> mix = parseMix(args.get("mix", "byId:60,search:25,count:10,statistics:5"), endpoints);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String token = login(httpClient, baseUrl,
+                args.get("username", "user"), args.get("password", "password"));
+
+        System.out.printf("Warming up for %ds at %d rps...%n", warmupSeconds, rps);
+        run(httpClient, baseUrl, token, mix, rps, warmupSeconds, maxInFlight);
+        mix.forEach(Endpoint::reset);
+
+        System.out.printf("Measuring for %ds at %d rps...%n", durationSeconds, rps);
+        long dropped = run(httpClient, baseUrl, token, mix, rps, durationSeconds, maxInFlight);
+        report(mix, durationSeconds, dropped);
+    }
+
+    private static Map<String, Function<ThreadLocalRandom, String>> endpoints(long maxId) {
+        Map<String, Function<ThreadLocalRandom, String>> endpoints = new LinkedHashMap<>();
+        endpoints.put("byId", random -> "/api/v1/student/" + random.nextLong(1, maxId + 1));
+        endpoints.put("search", random -> "/api/v1/student/search?name="
+                + NAME_FRAGMENTS[random.nextInt(NAME_FRAGMENTS.length)] + "&page=" + random.nextInt(5) + "&size=20");
+        endpoints.put("keyword", random -> "/api/v1/student/search-keyword?keyword="
+                + NAME_FRAGMENTS[random.nextInt(NAME_FRAGMENTS.length)]);
+        endpoints.put("ageRange", random -> {
+            int minAge = random.nextInt(17, 40);
+            return "/api/v1/student/by-age-range?minAge=" + minAge + "&maxAge=" + (minAge + random.nextInt(1, 6));
+        });
+        endpoints.put("count", random -> "/api/v1/student/count");
+        endpoints.put("statistics", random -> "/api/v1/student/statistics");
+        endpoints.put("list", random -> "/api/v1/student");
+        // Proxied to the joke upstream; point it at StubUpstreamServer to simulate a slow dependency
+        endpoints.put("joke", random -> "/api/v1/external/joke");
+        return endpoints;
+    }
+
+    private static List<Endpoint> parseMix(String mix, Map<String, Function<ThreadLocalRandom, String>> endpoints) {
+        List<Endpoint> result = new ArrayList<>();
+        int cumulative = 0;
+        for (String part : mix.split(",")) {
+            String[] nameAndWeight = part.trim().split(":");
+            Function<ThreadLocalRandom, String> path = endpoints.get(nameAndWeight[0]);
+            if (path == null) {
+                throw new IllegalArgumentException("Unknown endpoint '" + nameAndWeight[0] + "', expected one of " + endpoints.keySet());
+            }
+            cumulative += nameAndWeight.length > 1 ? Integer.parseInt(nameAndWeight[1]) : 1;
+            result.add(new Endpoint(nameAndWeight[0], path, cumulative));
+        }
+        return result;
+    }
+
+    private static String login(HttpClient httpClient, String baseUrl, String username, String password)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode() + ": " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    /**
+     * Issue requests on a fixed schedule for the given duration
+     *
+     * @return the number of scheduled requests skipped because max-in-flight was reached
+     */
+    private static long run(HttpClient httpClient, String baseUrl, String token, List<Endpoint> mix,
+                            int rps, int durationSeconds, int maxInFlight) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        long total = (long) rps * durationSeconds;
+        int totalWeight = mix.get(mix.size() - 1).cumulativeWeight;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long dropped = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (long i = 0; i < total; i++) {
+                long scheduledAt = start + i * intervalNanos;
+                long wait = scheduledAt - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                if (!inFlight.tryAcquire()) {
+                    dropped++;
+                    continue;
+                }
+                Endpoint endpoint = pick(mix, ThreadLocalRandom.current().nextInt(totalWeight));
+                String path = endpoint.path.apply(ThreadLocalRandom.current());
+                executor.submit(() -> {
+                    try {
+                        call(httpClient, baseUrl + path, token, endpoint, scheduledAt);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return dropped;
+    }
+
+    private static Endpoint pick(List<Endpoint> mix, int roll) {
+        for (Endpoint endpoint : mix) {
+            if (roll < endpoint.cumulativeWeight) {
+                return endpoint;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    private static void call(HttpClient httpClient, String url, String token, Endpoint endpoint, long scheduledAt) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        boolean ok;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt);
+        endpoint.latency.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+        if (!ok) {
+            endpoint.errors.increment();
+        }
+    }
+
+    private static void report(List<Endpoint> mix, int durationSeconds, long dropped) {
+        System.out.printf("%n%-12s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram overall = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        for (Endpoint endpoint : mix) {
+            Histogram histogram = endpoint.latency.copy();
+            overall.add(histogram);
+            printRow(endpoint.name, histogram, endpoint.errors.sum(), durationSeconds);
+        }
+        printRow("TOTAL", overall, mix.stream().mapToLong(endpoint -> endpoint.errors.sum()).sum(), durationSeconds);
+        if (dropped > 0) {
+            System.out.printf("%nSkipped %,d scheduled requests because --max-in-flight was reached%n", dropped);
+        }
+    }
+
+    private static void printRow(String name, Histogram histogram, long errors, int durationSeconds) {
+        System.out.printf("%-12s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errors,
+                (double) histogram.getTotalCount() / durationSeconds,
+                histogram.getValueAtPercentile(50.0) / 1000.0,
+                histogram.getValueAtPercentile(99.0) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final Function<ThreadLocalRandom, String> path;
+        private final int cumulativeWeight;
+        private final ConcurrentHistogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        Endpoint(String name, Function<ThreadLocalRandom, String> path, int cumulativeWeight) {
+            this.name = name;
+            this.path = path;
+            this.cumulativeWeight = cumulativeWeight;
+        }
+
+        void reset() {
+            latency.reset();
+            errors.reset();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.backup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint for database backups. {@code GET /actuator/backup} lists the backups kept and the
+ * last result; {@code POST /actuator/backup} takes a backup and returns its result, or 409 if one is
+ * already running.
+ */
+@Component
+@Endpoint(id = "backup")
+public class DatabaseBackupEndpoint {
+
+    private final DatabaseBackupService databaseBackupService;
+
+    public DatabaseBackupEndpoint(DatabaseBackupService databaseBackupService) {
+        this.databaseBackupService = databaseBackupService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> backups() {
+        List<Map<String, Object>> backups = databaseBackupService.listBackups().stream()
+                .map(DatabaseBackupEndpoint::describe)
+                .toList();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("running", databaseBackupService.isRunning());
+        response.put("lastBackup", databaseBackupService.getLastBackup());
+        response.put("backups", backups);
+        return response;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> backup() {
+        try {
+            return new WebEndpointResponse<>(databaseBackupService.backup("manual"));
+        } catch (IllegalStateException e) {
+            int status = e.getMessage().contains("already running")
+                    ? HttpStatus.CONFLICT.value() : WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR;
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), status);
+        }
+    }
+
+    private static Map<String, Object> describe(Path backup) {
+        try {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("file", backup.getFileName().toString());
+            description.put("bytes", Files.size(backup));
+            description.put("lastModified", Files.getLastModifiedTime(backup).toInstant());
+            return description;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.demo.backup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Online backups of the H2 database with {@code BACKUP TO}, which writes a zip of the database file
+ * while the application keeps running. H2 flushes the store and suspends reuse of free space in the
+ * file for the duration of the copy, so writers keep appending new chunks and are never blocked.
+ *
+ * <p>Backups are written to a temporary file and renamed when complete, so every {@code .zip} in the
+ * backup directory is a full backup. Only the newest {@code student.backup.retain} are kept.
+ * Runs on demand through the {@code backup} actuator endpoint, and on {@code student.backup.cron}
+ * if set.
+ */
+@Service
+public class DatabaseBackupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseBackupService.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String FILE_PREFIX = "db-";
+    private static final String FILE_SUFFIX = ".zip";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Path directory;
+    private final int retain;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final DistributionSummary databaseSize;
+    private final DistributionSummary backupSize;
+    private final DistributionSummary throughput;
+    private volatile BackupResult lastBackup;
+
+    public DatabaseBackupService(JdbcTemplate jdbcTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${student.backup.directory:./backups}") String directory,
+                                 @Value("${student.backup.retain:7}") int retain) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.directory = Paths.get(directory).toAbsolutePath();
+        this.retain = retain;
+        this.databaseSize = size(meterRegistry, "database");
+        this.backupSize = size(meterRegistry, "backup");
+        this.throughput = DistributionSummary.builder("db.backup.throughput")
+                .description("Database bytes backed up per second")
+                .baseUnit("bytes/s")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${student.backup.cron:-}")
+    public void scheduledBackup() {
+        try {
+            backup("scheduled");
+        } catch (RuntimeException e) {
+            logger.error("Scheduled database backup failed", e);
+        }
+    }
+
+    /**
+     * Take a backup now; at most one runs at a time
+     *
+     * @throws IllegalStateException if a backup is already running or the database cannot be backed up
+     */
+    public BackupResult backup(String trigger) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("a backup is already running");
+        }
+        long start = System.nanoTime();
+        String outcome = "failure";
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve(FILE_PREFIX + LocalDateTime.now().format(FILE_TIMESTAMP) + FILE_SUFFIX);
+            Path partial = directory.resolve(target.getFileName() + ".part");
+            try {
+                jdbcTemplate.execute("BACKUP TO '" + partial.toString().replace("'", "''") + "'");
+            } catch (DataAccessException e) {
+                Files.deleteIfExists(partial);
+                throw new IllegalStateException("database cannot be backed up: " + e.getMostSpecificCause().getMessage(), e);
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+
+            long durationNanos = System.nanoTime() - start;
+            long databaseBytes = uncompressedSize(target);
+            long backupBytes = Files.size(target);
+            databaseSize.record(databaseBytes);
+            backupSize.record(backupBytes);
+            throughput.record(databaseBytes * 1e9 / Math.max(durationNanos, 1));
+            outcome = "success";
+
+            BackupResult result = new BackupResult(target.getFileName().toString(), databaseBytes, backupBytes,
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos), Instant.now());
+            lastBackup = result;
+            logger.info("Database backup {} written: {} bytes from {} bytes in {} ms",
+                    result.file(), backupBytes, databaseBytes, result.durationMs());
+            deleteOldBackups();
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            Timer.builder("db.backup")
+                    .description("Duration of database backups")
+                    .tag("trigger", trigger)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            running.set(false);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public BackupResult getLastBackup() {
+        return lastBackup;
+    }
+
+    /**
+     * Completed backups, newest first
+     */
+    public List<Path> listBackups() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+                    })
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteOldBackups() throws IOException {
+        List<Path> backups = listBackups();
+        for (Path old : backups.subList(Math.min(retain, backups.size()), backups.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    private static long uncompressedSize(Path zip) throws IOException {
+        try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+            return zipFile.stream().mapToLong(entry -> Math.max(entry.getSize(), 0)).sum();
+        }
+    }
+
+    private static DistributionSummary size(MeterRegistry meterRegistry, String kind) {
+        return DistributionSummary.builder("db.backup.size")
+                .description("Size of the database backed up and of the backup file written")
+                .baseUnit("bytes")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    public record BackupResult(String file, long databaseBytes, long backupBytes, long durationMs, Instant completedAt) {
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.demo.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.example.demo.event.StudentChangedEvent;
+import com.example.demo.model.StudentAge;
+import com.example.demo.service.StudentTableVersion;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Caches the finished response bodies of hot read endpoints (statistics, count and the unfiltered
+ * student list), already serialized and also gzip- and deflate-encoded, and writes them straight to
+ * the response on later requests, skipping the queries, serialization and compression.
+ *
+ * <p>Entries are keyed by path, query string, {@code Accept} header and the caller's roles, and are
+ * tagged with the student table version they were built from. Runs after Spring Security, so only
+ * authorized requests get here. Any committed student write clears the cache.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String STUDENT_LIST_PATH = "/api/v1/student";
+    private static final Set<String> CACHED_PATHS =
+            Set.of(STUDENT_LIST_PATH, "/api/v1/student/statistics", "/api/v1/student/count");
+
+    private final StudentTableVersion studentTableVersion;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int maxBodyBytes;
+    private final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseCacheFilter(StudentTableVersion studentTableVersion,
+                               MeterRegistry meterRegistry,
+                               @Value("${student.response-cache.enabled:true}") boolean enabled,
+                               @Value("${student.response-cache.max-entries:256}") int maxEntries,
+                               @Value("${student.response-cache.max-body-bytes:1048576}") int maxBodyBytes) {
+        this.studentTableVersion = studentTableVersion;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxBodyBytes = maxBodyBytes;
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        cache.clear();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!CACHED_PATHS.contains(path)) {
+            return true;
+        }
+        // The list is only cached unfiltered; fields= is the one parameter allowed
+        Map<String, String[]> parameters = request.getParameterMap();
+        return !parameters.isEmpty() && !(path.equals(STUDENT_LIST_PATH) && parameters.keySet().equals(Set.of("fields")));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        // Taken before the request runs, so a write committed meanwhile leaves the entry stale, never wrong
+        String version = studentTableVersion.current() + "-" + StudentAge.today().toEpochDay();
+        String key = key(request);
+
+        CachedResponse cached = cache.get(key);
+        if (cached != null && cached.version().equals(version)) {
+            hits.increment();
+            write(cached, request, response);
+            return;
+        }
+        misses.increment();
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        byte[] body = wrapper.getContentAsByteArray();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || body.length > maxBodyBytes
+                || wrapper.getContentType() == null || cache.size() >= maxEntries) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        CachedResponse entry = new CachedResponse(version, wrapper.getContentType(),
+                wrapper.getHeader(HttpHeaders.ETAG), body, encode(body, true), encode(body, false));
+        cache.put(key, entry);
+        write(entry, request, response);
+    }
+
+    private static String key(HttpServletRequest request) {
+        String roles = "";
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            roles = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        }
+        String query = request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return request.getRequestURI() + '?' + (query != null ? query : "")
+                + '|' + (accept != null ? accept.trim().toLowerCase() : "")
+                + '|' + roles;
+    }
+
+    private static void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        if (cached.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.etag());
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null && ifNoneMatch.contains(cached.etag())) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+
+        String encoding = preferredEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] body = switch (encoding) {
+            case "gzip" -> cached.gzip();
+            case "deflate" -> cached.deflate();
+            default -> cached.identity();
+        };
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        if (body != cached.identity()) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * gzip if accepted, else deflate, else identity; codings with {@code q=0} count as refused
+     */
+    private static String preferredEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return "identity";
+        }
+        boolean deflate = false;
+        for (String part : acceptEncoding.toLowerCase().split(",")) {
+            String[] codingAndParams = part.trim().split(";");
+            String coding = codingAndParams[0].trim();
+            boolean refused = Arrays.stream(codingAndParams).skip(1)
+                    .map(String::trim)
+                    .anyMatch(param -> param.matches("q=0(\\.0*)?"));
+            if (refused) {
+                continue;
+            }
+            if (coding.equals("gzip")) {
+                return "gzip";
+            }
+            deflate |= coding.equals("deflate");
+        }
+        return deflate ? "deflate" : "identity";
+    }
+
+    private static byte[] encode(byte[] body, boolean gzip) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer) : new DeflaterOutputStream(buffer)) {
+            out.write(body);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("http.response.cache")
+                .description("Requests to cached endpoints answered from the response cache, or not")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CachedResponse(String version, String contentType, String etag,
+                                  byte[] identity, byte[] gzip, byte[] deflate) {
+    }
+}
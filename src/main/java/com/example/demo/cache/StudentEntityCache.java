@@ -0,0 +1,117 @@
+package com.example.demo.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.event.StudentChangedEvent;
+import com.example.demo.model.Student;
+import com.example.demo.repository.StudentRepository;
+
+/**
+ * Bounded LRU cache of students by id, used to turn cached id lists back into students.
+ * Holds detached copies, so cached students are never attached to a persistence context;
+ * callers must treat them as read-only. A committed write evicts that student. Guarded by a
+ * {@link ReentrantLock}, which is never held across the database query.
+ */
+@Component
+public class StudentEntityCache {
+
+    private final StudentRepository studentRepository;
+    private final Map<Long, Student> students;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Bumped with every eviction; a load that overlapped an eviction is not cached
+    private long evictions;
+
+    public StudentEntityCache(StudentRepository studentRepository,
+                              @Value("${student.entity-cache.max-entries:10000}") int maxEntries) {
+        this.studentRepository = studentRepository;
+        this.students = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Student> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        lock.lock();
+        try {
+            if (event.getChangeType() == StudentChangedEvent.ChangeType.BULK) {
+                students.clear();
+            } else {
+                students.remove(event.getStudentId());
+            }
+            evictions++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Students for the given ids in the same order, from the cache where possible and one IN query
+     * for the rest. Ids that do not exist are skipped.
+     */
+    public List<Student> findAllById(long[] ids) {
+        Map<Long, Student> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long evictionsBeforeLoad;
+        lock.lock();
+        try {
+            for (long id : ids) {
+                Student student = students.get(id);
+                if (student != null) {
+                    found.put(id, student);
+                } else {
+                    missing.add(id);
+                }
+            }
+            evictionsBeforeLoad = evictions;
+        } finally {
+            lock.unlock();
+        }
+
+        if (!missing.isEmpty()) {
+            List<Student> loaded = new ArrayList<>();
+            for (Student student : studentRepository.findAllById(missing)) {
+                loaded.add(copyOf(student));
+            }
+            lock.lock();
+            try {
+                boolean unchanged = evictions == evictionsBeforeLoad;
+                for (Student student : loaded) {
+                    found.put(student.getId(), student);
+                    if (unchanged) {
+                        students.put(student.getId(), student);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<Student> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Student student = found.get(id);
+            if (student != null) {
+                result.add(student);
+            }
+        }
+        return result;
+    }
+
+    private static Student copyOf(Student student) {
+        Student copy = new Student(student.getId(), student.getName(), student.getEmail(), student.getDob());
+        copy.setVersion(student.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.service.StudentTableVersion;
+
+/**
+ * Bounded LRU cache of search results as id lists, keyed by normalized search parameters.
+ * Each entry records the {@link StudentTableVersion} generation it was computed at and is only
+ * served while that is still current, so any committed student write invalidates every entry at
+ * once without tracking which keys it affects. Stale entries age out of the LRU.
+ */
+@Component
+public class StudentSearchCache {
+
+    private final StudentTableVersion studentTableVersion;
+    private final boolean enabled;
+    private final int maxIdsPerEntry;
+    private final Map<String, Entry> entries;
+    // Even a read reorders the access-ordered map, so every access takes the lock
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public StudentSearchCache(StudentTableVersion studentTableVersion,
+                              @Value("${student.search-cache.enabled:true}") boolean enabled,
+                              @Value("${student.search-cache.max-entries:1000}") int maxEntries,
+                              @Value("${student.search-cache.max-ids-per-entry:10000}") int maxIdsPerEntry) {
+        this.studentTableVersion = studentTableVersion;
+        this.enabled = enabled;
+        this.maxIdsPerEntry = maxIdsPerEntry;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Generation to pass to {@link #put}; take it before running the query
+     */
+    public long generation() {
+        return studentTableVersion.generation();
+    }
+
+    /**
+     * Cached ids for the key, or null if absent or computed before the latest write
+     */
+    public long[] get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+        return entry != null && entry.generation() == studentTableVersion.generation() ? entry.ids() : null;
+    }
+
+    public void put(String key, long generation, long[] ids) {
+        if (enabled && ids.length <= maxIdsPerEntry) {
+            lock.lock();
+            try {
+                entries.put(key, new Entry(generation, ids));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private record Entry(long generation, long[] ids) {
+    }
+}
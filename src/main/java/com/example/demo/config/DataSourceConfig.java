@@ -0,0 +1,65 @@
+package com.example.demo.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Separate connection pools for writes and reads behind one {@link DataSource}.
+ * Read-only transactions ({@code @Transactional(readOnly = true)}, and Spring Data's own read methods)
+ * get their connection from the read pool, everything else from the write pool. The read pool can point
+ * at a replica through {@code datasource.read.url}; by default it opens the same database, which still
+ * lets read concurrency be sized independently of writes.
+ *
+ * <p>The routing proxy fetches a physical connection only when the first statement runs, once the
+ * transaction's read-only flag is known.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Write pool, configured by the standard {@code spring.datasource.*} properties
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Read pool, configured by {@code datasource.read.*}; url and credentials default to the write pool's
+     */
+    @Bean
+    @ConfigurationProperties("datasource.read.hikari")
+    public HikariDataSource readDataSource(DataSourceProperties properties,
+                                           @Value("${datasource.read.url:}") String url,
+                                           @Value("${datasource.read.username:}") String username,
+                                           @Value("${datasource.read.password:}") String password) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url.isEmpty() ? properties.determineUrl() : url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+        dataSource.setReadOnlyDataSource(readDataSource);
+        return dataSource;
+    }
+}
@@ -2,27 +2,34 @@ package com.example.demo.config;
 
 import java.time.Duration;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import com.example.demo.outbound.config.OutboundRequestFactories;
+import com.example.demo.outbound.metrics.OutboundMetricsInterceptor;
+
 /**
  * Configuration class for external API calls
  */
 @Configuration
 public class ExternalApiConfig {
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
     /**
      * Configure RestTemplate bean with timeout settings and error handlers
      */
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(RestTemplateBuilder builder, OutboundMetricsInterceptor outboundMetricsInterceptor) {
         return builder
                 .requestFactory(this::clientHttpRequestFactory)
+                .additionalInterceptors(outboundMetricsInterceptor)
                 .additionalMessageConverters(new MappingJackson2HttpMessageConverter())
                 .build();
     }
@@ -31,9 +38,6 @@ public class ExternalApiConfig {
      * Configure HTTP request factory with timeout settings
      */
     private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(Duration.ofSeconds(10));
-        factory.setReadTimeout(Duration.ofSeconds(30));
-        return factory;
+        return OutboundRequestFactories.create(Duration.ofSeconds(10), Duration.ofSeconds(30), virtualThreadsEnabled);
     }
 }
\ No newline at end of file
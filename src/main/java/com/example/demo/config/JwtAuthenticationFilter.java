@@ -16,6 +16,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.example.demo.jwt.client.JwtServiceClient;
 import com.example.demo.jwt.config.JwtProperties;
+import com.example.demo.metrics.AuthMetrics;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -35,7 +36,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtServiceClient jwtServiceClient;
 
     @Autowired
-    private JwtProperties jwtProperties;    @Override
+    private JwtProperties jwtProperties;
+
+    @Autowired
+    private AuthMetrics authMetrics;
+
+    @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, 
                                   @NonNull HttpServletResponse response, 
                                   @NonNull FilterChain chain) throws ServletException, IOException {
@@ -57,6 +63,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String username = null;
         String jwtToken = null;
+        boolean authenticated = false;
         
         logger.debug("Centralized service enabled: " + jwtProperties.isEnableCentralizedService());
         
@@ -188,6 +195,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     logger.debug("Authentication is authenticated: " + authToken.isAuthenticated());
                     
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    authenticated = true;
                     
                     logger.debug("Set authentication for user: " + username + " with authorities: " + authToken.getAuthorities());
                     logger.debug("SecurityContext authentication after setting: " + SecurityContextHolder.getContext().getAuthentication());
@@ -201,6 +209,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         }
         
+        if (jwtToken != null) {
+            if (authenticated) {
+                authMetrics.tokenAccepted();
+            } else {
+                authMetrics.tokenRejected();
+            }
+        }
+
         // Final debug before proceeding to next filter
         logger.debug("=== JWT AUTHENTICATION FILTER END ===");
         logger.debug("Final SecurityContext authentication: " + SecurityContextHolder.getContext().getAuthentication());
@@ -229,7 +245,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                path.startsWith("/v3/api-docs/") ||
                path.equals("/v3/api-docs") ||
                path.startsWith("/swagger-resources/") ||
-               path.startsWith("/actuator/") ||
                path.equals("/") ||
                path.equals("/error") ||
                path.equals("/favicon.ico") ||
@@ -0,0 +1,23 @@
+package com.example.demo.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.demo.metrics.RequestQueryCounter;
+
+/**
+ * Configuration for custom application metrics
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Count SQL statements per request, see {@link com.example.demo.metrics.QueryCountFilter}
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new RequestQueryCounter());
+    }
+}
@@ -19,6 +19,8 @@ import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -58,6 +60,9 @@ public class SecurityConfig {
                     .disable())                .headers(headers -> headers
                         .frameOptions(frameOptions -> frameOptions.sameOrigin())) // Allow H2 console frames
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))                .authorizeHttpRequests(authz -> authz
+                        // Streamed (async) responses were already authorized on the initial dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Allow authentication endpoints
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         
@@ -70,7 +75,8 @@ public class SecurityConfig {
                         // Allow Swagger UI and API docs
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll()
                         
-                        // Allow Actuator endpoints (all for development)
+                        // Allow Actuator endpoints (all for development), except taking a backup
+                        .requestMatchers(HttpMethod.POST, "/actuator/backup").hasRole("ADMIN")
                         .requestMatchers("/actuator/**").permitAll()                        
                         // Allow error page and root endpoint
                         .requestMatchers("/error", "/", "/favicon.ico").permitAll()
@@ -104,8 +110,10 @@ public class SecurityConfig {
           if (h2ConsoleEnabled) {
             httpSecurity
                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()))                .authorizeHttpRequests(authz -> authz
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .requestMatchers("/api/v1/auth/**").permitAll()
                     .requestMatchers("/api/v1/jwt/**").permitAll()
+                    .requestMatchers("/actuator/slowqueries", "/actuator/backup").hasRole("ADMIN")
                     .requestMatchers("/h2-console/**").hasRole("ADMIN") // Restrict H2 console to admins only                    .requestMatchers("/actuator/health", "/actuator/info", "/actuator/metrics").permitAll()
                     .requestMatchers("/error", "/", "/favicon.ico").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/v1/student/**").hasAnyRole("USER", "ADMIN")
@@ -116,10 +124,12 @@ public class SecurityConfig {
                 );
         } else {
             httpSecurity                .authorizeHttpRequests(authz -> authz
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .requestMatchers("/api/v1/auth/**").permitAll()
                     .requestMatchers("/api/v1/jwt/**").permitAll()
                     // Allow Swagger UI and API docs in production too
                     .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll()
+                    .requestMatchers("/actuator/slowqueries", "/actuator/backup").hasRole("ADMIN")
                     .requestMatchers("/actuator/health", "/actuator/info", "/actuator/metrics").permitAll()
                     .requestMatchers("/error", "/", "/favicon.ico").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/v1/student/**").hasAnyRole("USER", "ADMIN")
@@ -24,6 +24,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.example.demo.config.JwtUtil;
 import com.example.demo.jwt.client.JwtServiceClient;
 import com.example.demo.jwt.config.JwtProperties;
+import com.example.demo.metrics.AuthMetrics;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -59,6 +60,9 @@ public class AuthController {
     @Autowired
     private JwtProperties jwtProperties;
 
+    @Autowired
+    private AuthMetrics authMetrics;
+
     /**
      * Login endpoint to authenticate user and return JWT token
      */
@@ -133,7 +137,9 @@ public class AuthController {
             response.put("expiresIn", expiresIn);
             response.put("issuedAt", LocalDateTime.now());
 
+            authMetrics.loginSucceeded();
             return ResponseEntity.ok(response);        } catch (BadCredentialsException e) {
+            authMetrics.loginFailed();
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Authentication Failed");
             errorResponse.put("message", "Invalid username or password. Please check your credentials and try again.");
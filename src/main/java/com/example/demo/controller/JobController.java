@@ -0,0 +1,206 @@
+package com.example.demo.controller;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.example.demo.csv.StudentCsvService;
+import com.example.demo.job.JobService;
+import com.example.demo.job.JobTask;
+import com.example.demo.model.Job;
+import com.example.demo.service.StudentExternalApiService;
+import com.example.demo.service.StudentService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Background jobs for operations too slow to hold a request thread: batch enrichment, statistics and
+ * CSV export. Submitting returns {@code 202 Accepted} with the job's URL in {@code Location}; the job
+ * can be polled there, or followed as Server-Sent Events, until its result is available at
+ * {@code /result}. Jobs are visible to the user who submitted them and to admins.
+ */
+@RestController
+@RequestMapping(path = "api/v1/jobs")
+public class JobController {
+
+    private final JobService jobService;
+    private final StudentService studentService;
+    private final StudentExternalApiService studentExternalApiService;
+    private final StudentCsvService studentCsvService;
+    private final Duration pollInterval;
+    private final Duration maxStreamDuration;
+
+    public JobController(JobService jobService,
+                         StudentService studentService,
+                         StudentExternalApiService studentExternalApiService,
+                         StudentCsvService studentCsvService,
+                         @Value("${student.jobs.poll-interval-ms:1000}") long pollIntervalMs,
+                         @Value("${student.jobs.max-stream-seconds:300}") long maxStreamSeconds) {
+        this.jobService = jobService;
+        this.studentService = studentService;
+        this.studentExternalApiService = studentExternalApiService;
+        this.studentCsvService = studentCsvService;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+        this.maxStreamDuration = Duration.ofSeconds(maxStreamSeconds);
+    }
+
+    @PostMapping("/batch-enrich")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> submitBatchEnrich(@RequestParam(defaultValue = "5") int limit,
+                                               Authentication authentication) {
+        return submit("batch-enrich", authentication,
+                context -> studentExternalApiService.batchEnrichStudents(limit, context::progress));
+    }
+
+    @PostMapping("/statistics")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<?> submitStatistics(Authentication authentication) {
+        return submit("statistics", authentication, context -> studentService.getStudentStatistics());
+    }
+
+    @PostMapping("/export")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<?> submitExport(Authentication authentication) {
+        return submit("export", authentication, context -> studentCsvService.exportCsv(context.resultFile("csv")));
+    }
+
+    @GetMapping(path = "{jobId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getJob(@PathVariable String jobId, Authentication authentication) {
+        return findJob(jobId, authentication)
+                .map(job -> ResponseEntity.ok(describe(job, jobLocation(jobId))))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * One event whenever the status or progress changes, named after the status; ends when the job finishes
+     */
+    @GetMapping(path = "{jobId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Flux<ServerSentEvent<Map<String, Object>>>> streamJob(@PathVariable String jobId,
+                                                                              Authentication authentication) {
+        if (findJob(jobId, authentication).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Built here, while the request is bound to this thread
+        URI location = jobLocation(jobId);
+        Flux<ServerSentEvent<Map<String, Object>>> updates = Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromCallable(() -> jobService.getJob(jobId))
+                        .subscribeOn(Schedulers.boundedElastic()), 1)
+                .mapNotNull(job -> job.orElse(null))
+                .distinctUntilChanged(job -> job.getStatus() + ":" + job.getProgress())
+                .takeUntil(job -> job.getStatus().isFinished())
+                .map(job -> ServerSentEvent.<Map<String, Object>>builder()
+                        .event(job.getStatus().name())
+                        .data(describe(job, location))
+                        .build())
+                .take(maxStreamDuration);
+        return ResponseEntity.ok(updates);
+    }
+
+    /**
+     * The result of a succeeded job: its file if it wrote one, else its JSON result
+     */
+    @GetMapping(path = "{jobId}/result")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getJobResult(@PathVariable String jobId, Authentication authentication) {
+        Optional<Job> found = findJob(jobId, authentication);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Job job = found.get();
+        if (job.getStatus() != Job.Status.SUCCEEDED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Error: job is " + job.getStatus().name().toLowerCase());
+        }
+        Optional<Path> file = jobService.resultPath(job);
+        if (file.isPresent()) {
+            if (!Files.exists(file.get())) {
+                return ResponseEntity.status(HttpStatus.GONE).body("Error: result file was deleted");
+            }
+            FileSystemResource resource = new FileSystemResource(file.get());
+            return ResponseEntity.ok()
+                    .contentType(MediaTypeFactory.getMediaType(resource).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getResultFile() + "\"")
+                    .body(resource);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(job.getResult());
+    }
+
+    private ResponseEntity<?> submit(String type, Authentication authentication, JobTask task) {
+        try {
+            Job job = jobService.submit(type, authentication.getName(), task);
+            URI location = jobLocation(job.getId());
+            return ResponseEntity.accepted()
+                    .location(location)
+                    .body(describe(job, location));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The job, if it exists and the caller submitted it or is an admin
+     */
+    private Optional<Job> findJob(String jobId, Authentication authentication) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        return jobService.getJob(jobId)
+                .filter(job -> admin || job.getSubmittedBy().equals(authentication.getName()));
+    }
+
+    private static URI jobLocation(String jobId) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/jobs/{jobId}")
+                .buildAndExpand(jobId)
+                .toUri();
+    }
+
+    private static Map<String, Object> describe(Job job, URI location) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("jobId", job.getId());
+        description.put("type", job.getType());
+        description.put("status", job.getStatus());
+        description.put("progress", job.getProgress());
+        description.put("createdAt", job.getCreatedAt());
+        description.put("startedAt", job.getStartedAt());
+        description.put("finishedAt", job.getFinishedAt());
+        description.put("location", location.toString());
+        if (job.getStatus() == Job.Status.SUCCEEDED) {
+            description.put("resultLocation", location + "/result");
+        }
+        if (job.getError() != null) {
+            description.put("error", job.getError());
+        }
+        return description;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.controller;
+
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.model.Student;
+import com.example.demo.service.ReactiveStudentService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive read-only variant of the student API, served next to {@link StudentController}.
+ * List and search results are streamed row by row when the client asks for
+ * {@code application/x-ndjson} or {@code text/event-stream}; with {@code application/json}
+ * they are collected into a single array.
+ */
+@RestController
+@RequestMapping(path = "api/v1/student/reactive")
+public class ReactiveStudentController {
+
+    private final ReactiveStudentService reactiveStudentService;
+
+    public ReactiveStudentController(ReactiveStudentService reactiveStudentService) {
+        this.reactiveStudentService = reactiveStudentService;
+    }
+
+    @GetMapping(produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.TEXT_EVENT_STREAM_VALUE
+    })
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Flux<Student> getStudents() {
+        return reactiveStudentService.getStudents();
+    }
+
+    @GetMapping(path = "{studentId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<Student>> getStudentById(@PathVariable("studentId") Long studentId) {
+        return reactiveStudentService.getStudentById(studentId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(path = "/search", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.TEXT_EVENT_STREAM_VALUE
+    })
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Flux<Student> searchStudents(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection) {
+        return reactiveStudentService.searchStudents(
+                name, email, minAge, maxAge, page, size, sortBy, sortDirection);
+    }
+
+    @GetMapping("/statistics")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<Map<String, Object>> getStudentStatistics() {
+        return reactiveStudentService.getStudentStatistics();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.controller;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.model.StudentChange;
+import com.example.demo.service.StudentChangeLog;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Change feed of student creates, updates and deletes, for consumers that would otherwise
+ * re-read the whole student list to find what changed.
+ * Entries come in sequence order after {@code since}. With {@code follow=true} (the default) the
+ * stream stays open and delivers new changes as they commit; it ends after the maximum stream
+ * duration, and the client reconnects from the last sequence it saw.
+ */
+@RestController
+@RequestMapping(path = "api/v1/student/changes")
+public class StudentChangeController {
+
+    private final StudentChangeLog studentChangeLog;
+    private final Duration maxStreamDuration;
+    private final Duration heartbeatInterval;
+
+    public StudentChangeController(StudentChangeLog studentChangeLog,
+                                   @Value("${student.change-feed.max-stream-seconds:300}") long maxStreamSeconds,
+                                   @Value("${student.change-feed.heartbeat-seconds:15}") long heartbeatSeconds) {
+        this.studentChangeLog = studentChangeLog;
+        this.maxStreamDuration = Duration.ofSeconds(maxStreamSeconds);
+        this.heartbeatInterval = Duration.ofSeconds(heartbeatSeconds);
+    }
+
+    /**
+     * Server-Sent Events, one event per change with the sequence number as event id.
+     * A reconnecting EventSource sends {@code Last-Event-ID}, which takes precedence over {@code since}.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Flux<ServerSentEvent<StudentChange>> streamChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "true") boolean follow,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        Flux<ServerSentEvent<StudentChange>> changes = changes(lastEventId != null ? lastEventId : since, follow)
+                .map(change -> ServerSentEvent.<StudentChange>builder()
+                        .id(String.valueOf(change.getSeq()))
+                        .event(change.getChangeType())
+                        .data(change)
+                        .build());
+        if (!follow) {
+            return changes;
+        }
+        // Comment lines keep idle connections from being closed by proxies
+        Flux<ServerSentEvent<StudentChange>> heartbeats = Flux.interval(heartbeatInterval)
+                .map(tick -> ServerSentEvent.<StudentChange>builder().comment("heartbeat").build());
+        return Flux.merge(changes, heartbeats).take(maxStreamDuration);
+    }
+
+    /**
+     * Newline-delimited JSON, one change per line; resume with {@code since} set to the last {@code seq} read
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Flux<StudentChange> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "true") boolean follow) {
+        Flux<StudentChange> changes = changes(since, follow);
+        return follow ? changes.take(maxStreamDuration) : changes;
+    }
+
+    private Flux<StudentChange> changes(long since, boolean follow) {
+        long from = Math.max(0, since);
+        return follow ? studentChangeLog.follow(from) : studentChangeLog.read(from);
+    }
+}
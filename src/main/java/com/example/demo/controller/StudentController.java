@@ -5,10 +5,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,39 +23,62 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.demo.model.Student;
+import com.example.demo.model.StudentAge;
+import com.example.demo.model.StudentBatchRequest;
 import com.example.demo.service.StudentService;
+import com.example.demo.service.StudentTableVersion;
 
 @RestController
 @RequestMapping(path = "api/v1/student")
 public class StudentController {
+    private static final int MAX_BATCH_SIZE = 500;
+    // Encodings a student can be written in, in converter order: JSON wins ties such as */*
+    private static final List<MediaType> ENCODINGS = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, new MediaType("application", "x-jackson-smile"));
+
     private final StudentService studentService;
+    private final StudentTableVersion studentTableVersion;
 
     @Autowired
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, StudentTableVersion studentTableVersion) {
         this.studentService = studentService;
+        this.studentTableVersion = studentTableVersion;
     }
 
 
     @GetMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<Student>> getStudents() {
-        List<Student> students = studentService.getStudents();
-        return ResponseEntity.ok(students);
+    public ResponseEntity<?> getStudents(@RequestParam(required = false) String fields, WebRequest request) {
+        if (fields == null) {
+            return conditional(request, studentService::getStudents);
+        }
+        try {
+            List<String> fieldList = studentService.parseFields(fields);
+            return conditional(request, () -> studentService.getStudentFields(fieldList));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
     }
 
 
     @GetMapping(path = "{studentId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<?> getStudentById(@PathVariable("studentId") Long studentId) {
+    public ResponseEntity<?> getStudentById(@PathVariable("studentId") Long studentId, WebRequest request) {
         try {
             Optional<Student> student = studentService.getStudentById(studentId);
             if (student.isPresent()) {
-                return ResponseEntity.ok(student.get());
+                String etag = studentETag(student.get(), request.getHeader(HttpHeaders.ACCEPT));
+                if (request.checkNotModified(etag)) {
+                    return null; // 304 already written, body not serialized
+                }
+                return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(student.get());
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -59,6 +89,46 @@ public class StudentController {
     }
 
 
+    @GetMapping(path = "/batch")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getStudentsByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body("Error: at most " + MAX_BATCH_SIZE + " ids per request");
+        }
+        try {
+            List<Student> students = studentService.getStudentsByIds(ids);
+            Set<Long> foundIds = students.stream().map(Student::getId).collect(Collectors.toSet());
+            Map<String, Object> response = new HashMap<>();
+            response.put("students", students);
+            response.put("notFound", ids.stream().distinct().filter(id -> !foundIds.contains(id)).toList());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error: " + e.getMessage());
+        }
+    }
+
+
+    @PostMapping(path = "/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> executeBatch(@RequestBody StudentBatchRequest request) {
+        if (request.getOperations() == null || request.getOperations().isEmpty()) {
+            return ResponseEntity.badRequest().body("Error: no operations");
+        }
+        if (request.getOperations().size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body("Error: at most " + MAX_BATCH_SIZE + " operations per request");
+        }
+        try {
+            Map<String, Object> response = studentService.executeBatch(request);
+            boolean committed = Boolean.TRUE.equals(response.get("committed"));
+            return ResponseEntity.status(committed ? HttpStatus.OK : HttpStatus.CONFLICT).body(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error: " + e.getMessage());
+        }
+    }
+
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> registerNewStudent(@RequestBody Student student) {
@@ -80,10 +150,23 @@ public class StudentController {
     public ResponseEntity<?> updateStudent(
             @PathVariable("studentId") Long studentId,
             @RequestParam(required = false) String name,
-            @RequestParam(required = false) String email) {
+            @RequestParam(required = false) String email,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            studentService.updateStudent(studentId, name, email);
-            return ResponseEntity.ok("Student updated successfully");
+            Long expectedVersion = null;
+            if (ifMatch != null && !ifMatch.trim().equals("*")) {
+                expectedVersion = versionFromIfMatch(ifMatch);
+                if (expectedVersion == null) {
+                    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                            .body("Error: If-Match does not name a current student ETag");
+                }
+            }
+            Student student = studentService.updateStudent(studentId, name, email, expectedVersion);
+            return ResponseEntity.ok().eTag(studentETag(student, accept)).body("Student updated successfully");
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("Error: student was modified since the given ETag");
         } catch (IllegalStateException e) {
             if (e.getMessage().contains("does not exist")) {
                 return ResponseEntity.notFound().build();
@@ -113,7 +196,7 @@ public class StudentController {
     // Advanced Search Endpoints
     @GetMapping("/search")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<Student>> searchStudents(
+    public ResponseEntity<?> searchStudents(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String email,
             @RequestParam(required = false) Integer minAge,
@@ -121,12 +204,23 @@ public class StudentController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDirection) {
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
         
+        List<String> fieldList;
         try {
-            List<Student> students = studentService.searchStudents(
-                name, email, minAge, maxAge, page, size, sortBy, sortDirection);
-            return ResponseEntity.ok(students);
+            fieldList = fields != null ? studentService.parseFields(fields) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+        try {
+            if (fieldList != null) {
+                return conditional(request, () -> studentService.searchStudentFields(
+                    fieldList, name, email, minAge, maxAge, page, size, sortBy, sortDirection));
+            }
+            return conditional(request, () -> studentService.searchStudents(
+                name, email, minAge, maxAge, page, size, sortBy, sortDirection));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -136,10 +230,10 @@ public class StudentController {
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<List<Student>> getStudentsByAgeRange(
             @RequestParam int minAge,
-            @RequestParam int maxAge) {
+            @RequestParam int maxAge,
+            WebRequest request) {
         try {
-            List<Student> students = studentService.getStudentsByAgeRange(minAge, maxAge);
-            return ResponseEntity.ok(students);
+            return conditional(request, () -> studentService.getStudentsByAgeRange(minAge, maxAge));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (Exception e) {
@@ -149,10 +243,9 @@ public class StudentController {
 
     @GetMapping("/statistics")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<Map<String, Object>> getStudentStatistics() {
+    public ResponseEntity<Map<String, Object>> getStudentStatistics(WebRequest request) {
         try {
-            Map<String, Object> stats = studentService.getStudentStatistics();
-            return ResponseEntity.ok(stats);
+            return conditional(request, studentService::getStudentStatistics);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -160,10 +253,9 @@ public class StudentController {
 
     @GetMapping("/by-birth-year/{year}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<Student>> getStudentsByBirthYear(@PathVariable int year) {
+    public ResponseEntity<List<Student>> getStudentsByBirthYear(@PathVariable int year, WebRequest request) {
         try {
-            List<Student> students = studentService.getStudentsByBirthYear(year);
-            return ResponseEntity.ok(students);
+            return conditional(request, () -> studentService.getStudentsByBirthYear(year));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (Exception e) {
@@ -173,10 +265,9 @@ public class StudentController {
 
     @GetMapping("/search-keyword")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<Student>> searchByKeyword(@RequestParam String keyword) {
+    public ResponseEntity<List<Student>> searchByKeyword(@RequestParam String keyword, WebRequest request) {
         try {
-            List<Student> students = studentService.searchByKeyword(keyword);
-            return ResponseEntity.ok(students);
+            return conditional(request, () -> studentService.searchByKeyword(keyword));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -184,12 +275,13 @@ public class StudentController {
 
     @GetMapping("/count")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<Map<String, Long>> getStudentCount() {
+    public ResponseEntity<Map<String, Long>> getStudentCount(WebRequest request) {
         try {
-            long count = studentService.getStudentCount();
-            Map<String, Long> response = new HashMap<>();
-            response.put("totalStudents", count);
-            return ResponseEntity.ok(response);
+            return conditional(request, () -> {
+                Map<String, Long> response = new HashMap<>();
+                response.put("totalStudents", studentService.getStudentCount());
+                return response;
+            });
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -197,10 +289,9 @@ public class StudentController {
 
     @GetMapping("/older-than/{age}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<Student>> getStudentsOlderThan(@PathVariable int age) {
+    public ResponseEntity<List<Student>> getStudentsOlderThan(@PathVariable int age, WebRequest request) {
         try {
-            List<Student> students = studentService.getStudentsOlderThan(age);
-            return ResponseEntity.ok(students);
+            return conditional(request, () -> studentService.getStudentsOlderThan(age));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -208,10 +299,9 @@ public class StudentController {
 
     @GetMapping("/younger-than/{age}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<Student>> getStudentsYoungerThan(@PathVariable int age) {
+    public ResponseEntity<List<Student>> getStudentsYoungerThan(@PathVariable int age, WebRequest request) {
         try {
-            List<Student> students = studentService.getStudentsYoungerThan(age);
-            return ResponseEntity.ok(students);
+            return conditional(request, () -> studentService.getStudentsYoungerThan(age));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -221,16 +311,94 @@ public class StudentController {
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<List<Student>> getStudentsByDateRange(
             @RequestParam String startDate,
-            @RequestParam String endDate) {
+            @RequestParam String endDate,
+            WebRequest request) {
         try {
             LocalDate start = LocalDate.parse(startDate);
             LocalDate end = LocalDate.parse(endDate);
-            List<Student> students = studentService.getStudentsByDateRange(start, end);
-            return ResponseEntity.ok(students);
+            return conditional(request, () -> studentService.getStudentsByDateRange(start, end));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /**
+     * Answer a read from the table-level change counter: 304 without querying when the client's weak
+     * ETag is current, otherwise the body with a fresh ETag. Ages are part of the body, so the tag also
+     * changes with the date. The body may be JSON, CBOR or Smile, hence {@code Vary: Accept}.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, Supplier<T> body) {
+        String etag = "W/\"" + studentTableVersion.current() + "-" + StudentAge.today().toEpochDay() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null; // 304 already written
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(body.get());
+    }
+
+    /**
+     * Strong ETag of a single student: the row version, plus the age since that is derived from the date,
+     * plus the encoding, since the JSON, CBOR and Smile bodies differ byte for byte
+     */
+    private static String studentETag(Student student, String accept) {
+        return "\"" + student.getVersion() + "-" + student.getAge() + "-" + encoding(accept) + "\"";
+    }
+
+    /**
+     * Subtype of the encoding the body will be written in for this Accept header: the acceptable one
+     * with the highest quality, where an exact media type counts before a wildcard range
+     */
+    private static String encoding(String accept) {
+        List<MediaType> accepted;
+        try {
+            accepted = accept == null || accept.isBlank() ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            accepted = List.of(MediaType.ALL);
+        }
+        MediaType best = ENCODINGS.get(0);
+        double bestQuality = 0;
+        for (MediaType candidate : ENCODINGS) {
+            double quality = quality(candidate, accepted);
+            if (quality > bestQuality) {
+                best = candidate;
+                bestQuality = quality;
+            }
+        }
+        return best.getSubtype();
+    }
+
+    private static double quality(MediaType candidate, List<MediaType> accepted) {
+        double wildcardQuality = 0;
+        for (MediaType range : accepted) {
+            if (range.equalsTypeAndSubtype(candidate)) {
+                return range.getQualityValue();
+            }
+            if (range.includes(candidate)) {
+                wildcardQuality = Math.max(wildcardQuality, range.getQualityValue());
+            }
+        }
+        return wildcardQuality;
+    }
+
+    /**
+     * Version named by the first strong ETag in an If-Match header, or null if there is none.
+     * Only the version part is compared, so a tag from before a birthday or for another encoding still
+     * matches.
+     */
+    private static Long versionFromIfMatch(String ifMatch) {
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("\"") && tag.endsWith("\"") && tag.length() > 2) {
+                String value = tag.substring(1, tag.length() - 1);
+                int dash = value.indexOf('-');
+                try {
+                    return Long.parseLong(dash >= 0 ? value.substring(0, dash) : value);
+                } catch (NumberFormatException e) {
+                    // Not one of ours; try the next tag
+                }
+            }
+        }
+        return null;
+    }
 }
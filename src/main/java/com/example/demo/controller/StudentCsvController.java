@@ -0,0 +1,61 @@
+package com.example.demo.controller;
+
+import java.io.InputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.demo.csv.StudentCsvService;
+
+/**
+ * Bulk CSV export and import of all students
+ */
+@RestController
+@RequestMapping(path = "api/v1/student/csv")
+public class StudentCsvController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final StudentCsvService studentCsvService;
+
+    public StudentCsvController(StudentCsvService studentCsvService) {
+        this.studentCsvService = studentCsvService;
+    }
+
+    /**
+     * Every student as CSV, written to the response while the rows are read
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportStudents() {
+        StreamingResponseBody body = studentCsvService::exportCsv;
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"students.csv\"")
+                .body(body);
+    }
+
+    /**
+     * Create or update students, matched by email, from a CSV request body
+     */
+    @PostMapping(consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importStudents(InputStream body) {
+        try {
+            return ResponseEntity.ok(studentCsvService.importCsv(body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.demo.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Reads CSV records (RFC 4180: comma separated, optional double quotes, {@code ""} escapes, CRLF or
+ * LF line ends) from a memory-mapped file. The file is mapped a window at a time, so files larger than
+ * 2 GB work; a record cut off at the end of a window is re-read from the start of the next window.
+ *
+ * <p>Tokenizing copies nothing: {@link #next()} only records where each field starts and ends in the
+ * mapped buffer. Bytes are decoded when a field is read, and only for the fields that are read.
+ * After a malformed record, {@link #skipRecord()} resumes reading at the next line.
+ */
+final class MappedCsvReader implements Closeable {
+
+    static final int DEFAULT_WINDOW_BYTES = 64 * 1024 * 1024;
+    private static final int MAX_FIELDS = 64;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowBytes;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int position;
+
+    private final int[] fieldStarts = new int[MAX_FIELDS];
+    private final int[] fieldEnds = new int[MAX_FIELDS];
+    private final boolean[] fieldEscaped = new boolean[MAX_FIELDS];
+    private int fieldCount;
+    private long recordNumber;
+    private byte[] scratch = new byte[256];
+
+    MappedCsvReader(Path file, int windowBytes) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowBytes = windowBytes;
+        map(0);
+    }
+
+    /**
+     * Advance to the next non-blank record
+     *
+     * @return false at the end of the file
+     * @throws IllegalArgumentException if a record is malformed or does not fit in one window; the
+     *                                  reader stays at that record until {@link #skipRecord()}
+     */
+    boolean next() throws IOException {
+        while (true) {
+            if (windowStart + position >= fileSize) {
+                return false;
+            }
+            int start = position;
+            if (!parseRecord()) {
+                // Record runs past the end of the window: remap starting at the record
+                if (start == 0) {
+                    throw new IllegalArgumentException("record " + (recordNumber + 1) + " is longer than "
+                            + windowBytes + " bytes");
+                }
+                map(windowStart + start);
+                continue;
+            }
+            if (fieldCount == 1 && fieldStarts[0] == fieldEnds[0]) {
+                continue;
+            }
+            recordNumber++;
+            return true;
+        }
+    }
+
+    /**
+     * Skip the record {@link #next()} rejected, resuming after the next line end. The skipped record
+     * is counted, so later record numbers stay in step with the file.
+     */
+    void skipRecord() throws IOException {
+        while (true) {
+            int limit = window.limit();
+            while (position < limit) {
+                byte b = window.get(position++);
+                if (b == '\n' || b == '\r') {
+                    recordNumber++;
+                    return;
+                }
+            }
+            if (windowReachesEndOfFile()) {
+                recordNumber++;
+                return;
+            }
+            map(windowStart + limit);
+        }
+    }
+
+    /**
+     * 1-based number of the current record, counting the header
+     */
+    long recordNumber() {
+        return recordNumber;
+    }
+
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * The field decoded as UTF-8 with quotes removed
+     */
+    String string(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        if (end - start > scratch.length) {
+            scratch = new byte[Math.max(end - start, scratch.length * 2)];
+        }
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            byte b = window.get(i);
+            scratch[length++] = b;
+            // Inside a quoted field "" stands for one quote
+            if (b == '"' && fieldEscaped[field]) {
+                i++;
+            }
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The field as an ISO date ({@code yyyy-MM-dd}), parsed straight from the bytes
+     *
+     * @throws IllegalArgumentException if it is not a valid date
+     */
+    LocalDate date(int field) {
+        int start = fieldStarts[field];
+        if (fieldEnds[field] - start != 10 || window.get(start + 4) != '-' || window.get(start + 7) != '-') {
+            throw new IllegalArgumentException("dob must be yyyy-MM-dd");
+        }
+        try {
+            return LocalDate.of(digits(start, 4), digits(start + 5, 2), digits(start + 8, 2));
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("dob is not a valid date");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowBytes, fileSize - start));
+        position = 0;
+    }
+
+    private boolean windowReachesEndOfFile() {
+        return windowStart + window.limit() >= fileSize;
+    }
+
+    /**
+     * Tokenize one record from {@link #position}
+     *
+     * @return false if the window ends before the record does and more of the file remains
+     */
+    private boolean parseRecord() {
+        int limit = window.limit();
+        int pos = position;
+        fieldCount = 0;
+        while (true) {
+            if (fieldCount == MAX_FIELDS) {
+                throw new IllegalArgumentException("record " + (recordNumber + 1) + " has more than "
+                        + MAX_FIELDS + " fields");
+            }
+            boolean escaped = false;
+            int start;
+            int end;
+            if (pos < limit && window.get(pos) == '"') {
+                start = ++pos;
+                while (true) {
+                    if (pos >= limit) {
+                        if (windowReachesEndOfFile()) {
+                            throw new IllegalArgumentException("record " + (recordNumber + 1)
+                                    + " has an unterminated quoted field");
+                        }
+                        return false;
+                    }
+                    if (window.get(pos) == '"') {
+                        if (pos + 1 < limit && window.get(pos + 1) == '"') {
+                            escaped = true;
+                            pos += 2;
+                            continue;
+                        }
+                        if (pos + 1 >= limit && !windowReachesEndOfFile()) {
+                            return false;
+                        }
+                        break;
+                    }
+                    pos++;
+                }
+                end = pos++;
+            } else {
+                start = pos;
+                while (pos < limit) {
+                    byte b = window.get(pos);
+                    if (b == ',' || b == '\n' || b == '\r') {
+                        break;
+                    }
+                    pos++;
+                }
+                end = pos;
+            }
+            fieldStarts[fieldCount] = start;
+            fieldEnds[fieldCount] = end;
+            fieldEscaped[fieldCount] = escaped;
+            fieldCount++;
+
+            if (pos >= limit) {
+                if (!windowReachesEndOfFile()) {
+                    return false;
+                }
+                position = pos;
+                return true;
+            }
+            byte delimiter = window.get(pos++);
+            if (delimiter == ',') {
+                continue;
+            }
+            if (delimiter == '\r') {
+                if (pos >= limit && !windowReachesEndOfFile()) {
+                    return false;
+                }
+                if (pos < limit && window.get(pos) == '\n') {
+                    pos++;
+                }
+            } else if (delimiter != '\n') {
+                throw new IllegalArgumentException("record " + (recordNumber + 1)
+                        + " has characters after a closing quote");
+            }
+            position = pos;
+            return true;
+        }
+    }
+
+    private int digits(int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = window.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("dob must be yyyy-MM-dd");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
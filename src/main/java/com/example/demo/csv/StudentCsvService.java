@@ -0,0 +1,300 @@
+package com.example.demo.csv;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.event.StudentChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bulk CSV export and import of the student table over plain JDBC, without loading entities.
+ *
+ * <p>Export streams rows from a forward-only cursor to the output as they are read. Import maps the
+ * file into memory ({@link MappedCsvReader}) and merges rows by email in batches, each committed on
+ * its own; malformed records and rows with missing or invalid fields are skipped and reported. After
+ * an import one {@link StudentChangedEvent#bulk()} event lets caches, the age index and the change
+ * feed catch up.
+ * Both record rows and rows per second as {@code student.csv.rows} and {@code student.csv.throughput}.
+ */
+@Service
+public class StudentCsvService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentCsvService.class);
+    private static final String HEADER = "id,name,email,dob";
+    private static final int MAX_COLUMN_LENGTH = 255;
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    // Matched rows are updated in place, so they keep their id and their version moves on for ETags.
+    // New rows set version explicitly: a schema generated by Hibernate has no column default for it.
+    private static final String MERGE_SQL = """
+            MERGE INTO student s
+            USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), CAST(? AS DATE))) AS v (name, email, dob)
+            ON s.email = v.email
+            WHEN MATCHED THEN UPDATE SET name = v.name, dob = v.dob, version = s.version + 1
+            WHEN NOT MATCHED THEN INSERT (name, email, dob, version) VALUES (v.name, v.email, v.dob, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int fetchSize;
+    private final int windowBytes;
+
+    public StudentCsvService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry,
+                             @Value("${student.csv.import.batch-size:1000}") int batchSize,
+                             @Value("${student.csv.export.fetch-size:1000}") int fetchSize,
+                             @Value("${student.csv.import.window-bytes:" + MappedCsvReader.DEFAULT_WINDOW_BYTES + "}") int windowBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+        this.windowBytes = windowBytes;
+    }
+
+    /**
+     * Write every student as CSV ({@code id,name,email,dob}, ordered by id) to {@code out}.
+     * Runs in a read-only transaction, so the rows come from the read pool.
+     */
+    public ExportResult exportCsv(OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        long rows;
+        try {
+            rows = readTransaction.execute(status ->
+                    jdbcTemplate.execute((ConnectionCallback<Long>) connection -> writeRows(connection, writer)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+
+        long durationNanos = System.nanoTime() - started;
+        double rowsPerSecond = record("export", rows, durationNanos);
+        logger.info("Exported {} students in {} ms ({} rows/s)",
+                rows, TimeUnit.NANOSECONDS.toMillis(durationNanos), Math.round(rowsPerSecond));
+        return new ExportResult(rows, TimeUnit.NANOSECONDS.toMillis(durationNanos), rowsPerSecond);
+    }
+
+    /**
+     * Export to a file, replacing it if it exists
+     */
+    public ExportResult exportCsv(Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            return exportCsv(out);
+        }
+    }
+
+    /**
+     * Import CSV from a stream: it is spooled to a temporary file, which is then memory-mapped
+     */
+    public ImportResult importCsv(InputStream in) throws IOException {
+        Path file = Files.createTempFile("student-import-", ".csv");
+        try {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            return importCsv(file);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Still mapped on some platforms until the buffer is collected
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Import CSV with a header row naming at least the {@code name}, {@code email} and {@code dob}
+     * columns, in any order; other columns, including {@code id}, are ignored. Students are matched by
+     * email: existing ones are updated, others inserted. A malformed record is rejected like an invalid
+     * row, and reading resumes at the next line.
+     *
+     * @throws IllegalArgumentException if the header row is missing, malformed or lacks a column
+     */
+    public ImportResult importCsv(Path file) throws IOException {
+        long started = System.nanoTime();
+        long imported = 0;
+        long rejected = 0;
+        List<String> errors = new ArrayList<>();
+        try (MappedCsvReader reader = new MappedCsvReader(file, windowBytes)) {
+            if (!reader.next()) {
+                throw new IllegalArgumentException("CSV is empty; expected a header row with name, email and dob");
+            }
+            int nameColumn = column(reader, "name");
+            int emailColumn = column(reader, "email");
+            int dobColumn = column(reader, "dob");
+            int minFields = Math.max(nameColumn, Math.max(emailColumn, dobColumn)) + 1;
+
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            while (true) {
+                try {
+                    if (!reader.next()) {
+                        break;
+                    }
+                } catch (IllegalArgumentException e) {
+                    rejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(e.getMessage());
+                    }
+                    reader.skipRecord();
+                    continue;
+                }
+                try {
+                    if (reader.fieldCount() < minFields) {
+                        throw new IllegalArgumentException("expected at least " + minFields + " fields");
+                    }
+                    String name = reader.string(nameColumn).trim();
+                    String email = reader.string(emailColumn).trim();
+                    LocalDate dob = reader.date(dobColumn);
+                    if (name.isEmpty() || email.isEmpty()) {
+                        throw new IllegalArgumentException("name and email are required");
+                    }
+                    if (name.length() > MAX_COLUMN_LENGTH || email.length() > MAX_COLUMN_LENGTH) {
+                        throw new IllegalArgumentException("name and email must be at most " + MAX_COLUMN_LENGTH + " characters");
+                    }
+                    batch.add(new Object[] {name, email, dob});
+                } catch (IllegalArgumentException e) {
+                    rejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add("record " + reader.recordNumber() + ": " + e.getMessage());
+                    }
+                }
+                if (batch.size() == batchSize) {
+                    imported += writeBatch(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                imported += writeBatch(batch);
+            }
+        } finally {
+            if (imported > 0) {
+                eventPublisher.publishEvent(StudentChangedEvent.bulk());
+            }
+        }
+
+        long durationNanos = System.nanoTime() - started;
+        double rowsPerSecond = record("import", imported, durationNanos);
+        Counter.builder("student.csv.rejected")
+                .description("CSV rows skipped by imports because they were malformed or had missing or invalid fields")
+                .register(meterRegistry)
+                .increment(rejected);
+        logger.info("Imported {} students ({} rejected) in {} ms ({} rows/s)",
+                imported, rejected, TimeUnit.NANOSECONDS.toMillis(durationNanos), Math.round(rowsPerSecond));
+        return new ImportResult(imported, rejected, errors, TimeUnit.NANOSECONDS.toMillis(durationNanos), rowsPerSecond);
+    }
+
+    private long writeRows(Connection connection, Writer writer) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // Without lazy execution H2 materializes the whole result before returning the first row
+            statement.execute("SET LAZY_QUERY_EXECUTION TRUE");
+            try (ResultSet rs = statement.executeQuery("SELECT id, name, email, dob FROM student ORDER BY id")) {
+                rs.setFetchSize(fetchSize);
+                writer.write(HEADER);
+                writer.write('\n');
+                long rows = 0;
+                while (rs.next()) {
+                    writer.write(Long.toString(rs.getLong(1)));
+                    writer.write(',');
+                    writeField(writer, rs.getString(2));
+                    writer.write(',');
+                    writeField(writer, rs.getString(3));
+                    writer.write(',');
+                    writer.write(rs.getObject(4, LocalDate.class).toString());
+                    writer.write('\n');
+                    rows++;
+                }
+                return rows;
+            } finally {
+                statement.execute("SET LAZY_QUERY_EXECUTION FALSE");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long writeBatch(List<Object[]> batch) {
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(MERGE_SQL, batch));
+        return batch.size();
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static int column(MappedCsvReader reader, String name) {
+        for (int i = 0; i < reader.fieldCount(); i++) {
+            if (reader.string(i).trim().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("CSV header has no " + name + " column");
+    }
+
+    private double record(String direction, long rows, long durationNanos) {
+        double rowsPerSecond = rows * 1e9 / Math.max(durationNanos, 1);
+        Counter.builder("student.csv.rows")
+                .description("Students exported or imported as CSV")
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .increment(rows);
+        DistributionSummary.builder("student.csv.throughput")
+                .description("Rows per second of each CSV export or import")
+                .baseUnit("rows/s")
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .record(rowsPerSecond);
+        return rowsPerSecond;
+    }
+
+    public record ExportResult(long rows, long durationMs, double rowsPerSecond) {
+    }
+
+    public record ImportResult(long imported, long rejected, List<String> errors, long durationMs,
+                               double rowsPerSecond) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.event;
+
+import com.example.demo.model.Student;
+
+/**
+ * Application event published by StudentService after every student write, and once after a bulk
+ * import ({@link ChangeType#BULK}, with no student) when any number of students may have changed
+ */
+public class StudentChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED, BULK
+    }
+
+    private final ChangeType changeType;
+    private final Long studentId;
+    private final Student student;
+
+    public StudentChangedEvent(ChangeType changeType, Long studentId, Student student) {
+        this.changeType = changeType;
+        this.studentId = studentId;
+        this.student = student;
+    }
+
+    public static StudentChangedEvent created(Student student) {
+        return new StudentChangedEvent(ChangeType.CREATED, student.getId(), student);
+    }
+
+    public static StudentChangedEvent updated(Student student) {
+        return new StudentChangedEvent(ChangeType.UPDATED, student.getId(), student);
+    }
+
+    public static StudentChangedEvent deleted(Long studentId) {
+        return new StudentChangedEvent(ChangeType.DELETED, studentId, null);
+    }
+
+    public static StudentChangedEvent bulk() {
+        return new StudentChangedEvent(ChangeType.BULK, null, null);
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    /**
+     * Id of the changed student; {@code null} for bulk changes
+     */
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    /**
+     * State of the student after the change; {@code null} for deletions and bulk changes
+     */
+    public Student getStudent() {
+        return student;
+    }
+}
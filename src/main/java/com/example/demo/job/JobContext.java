@@ -0,0 +1,51 @@
+package com.example.demo.job;
+
+import java.nio.file.Path;
+
+import com.example.demo.model.Job;
+import com.example.demo.repository.JobRepository;
+
+/**
+ * Handed to a running {@link JobTask} to report progress and to write a result file
+ */
+public class JobContext {
+
+    private final String jobId;
+    private final Path resultDirectory;
+    private final JobRepository jobRepository;
+    private int progress;
+    private String resultFile;
+
+    JobContext(String jobId, Path resultDirectory, JobRepository jobRepository) {
+        this.jobId = jobId;
+        this.resultDirectory = resultDirectory;
+        this.jobRepository = jobRepository;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    /**
+     * Record the percentage done; only increases are written, and 100 is left for completion
+     */
+    public void progress(int percent) {
+        int capped = Math.min(percent, 99);
+        if (capped > progress) {
+            progress = capped;
+            jobRepository.updateProgress(jobId, Job.Status.RUNNING, capped);
+        }
+    }
+
+    /**
+     * Path of the job's result file, served from the job's result location once it succeeds
+     */
+    public Path resultFile(String extension) {
+        resultFile = jobId + "." + extension;
+        return resultDirectory.resolve(resultFile);
+    }
+
+    String getResultFile() {
+        return resultFile;
+    }
+}
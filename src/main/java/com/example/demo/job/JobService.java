@@ -0,0 +1,185 @@
+package com.example.demo.job;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.model.Job;
+import com.example.demo.repository.JobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs long operations in the background instead of on the request thread. Jobs are persisted in the
+ * {@code job} table and run on virtual threads, at most {@code student.jobs.max-concurrent} at a time
+ * with up to {@code student.jobs.max-queued} waiting; beyond that submissions are refused.
+ *
+ * <p>Jobs left queued or running by a previous process are marked failed at startup. Finished jobs
+ * and their result files are deleted after {@code student.jobs.retention-hours}.
+ */
+@Service
+public class JobService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobService.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Path resultDirectory;
+    private final long retentionHours;
+    private final ThreadPoolExecutor executor;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    public JobService(JobRepository jobRepository,
+                      ObjectMapper objectMapper,
+                      MeterRegistry meterRegistry,
+                      @Value("${student.jobs.max-concurrent:4}") int maxConcurrent,
+                      @Value("${student.jobs.max-queued:100}") int maxQueued,
+                      @Value("${student.jobs.result-directory:./job-results}") String resultDirectory,
+                      @Value("${student.jobs.retention-hours:24}") long retentionHours) {
+        this.jobRepository = jobRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.resultDirectory = Paths.get(resultDirectory).toAbsolutePath();
+        this.retentionHours = retentionHours;
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued), Thread.ofVirtual().name("job-", 0).factory());
+
+        Gauge.builder("jobs.queued", executor, pool -> pool.getQueue().size())
+                .description("Jobs waiting for a free slot")
+                .register(meterRegistry);
+        Gauge.builder("jobs.running", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Jobs running")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        List<Job> interrupted = jobRepository.findByStatusIn(List.of(Job.Status.QUEUED, Job.Status.RUNNING)).stream()
+                .filter(job -> job.getCreatedAt().isBefore(startedAt))
+                .toList();
+        for (Job job : interrupted) {
+            job.setStatus(Job.Status.FAILED);
+            job.setError("interrupted by an application restart");
+            job.setFinishedAt(LocalDateTime.now());
+        }
+        jobRepository.saveAll(interrupted);
+    }
+
+    /**
+     * Queue a job and return its record, in status {@code QUEUED}
+     *
+     * @throws IllegalStateException if the queue is full
+     */
+    public Job submit(String type, String submittedBy, JobTask task) {
+        Job job = jobRepository.save(new Job(UUID.randomUUID().toString(), type, submittedBy, LocalDateTime.now()));
+        try {
+            executor.execute(() -> run(job.getId(), task));
+        } catch (RejectedExecutionException e) {
+            job.setStatus(Job.Status.FAILED);
+            job.setError("job queue is full");
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            throw new IllegalStateException("job queue is full, retry later");
+        }
+        return job;
+    }
+
+    public Optional<Job> getJob(String jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    /**
+     * Location of a job's result file, or empty if it has none
+     */
+    public Optional<Path> resultPath(Job job) {
+        return Optional.ofNullable(job.getResultFile()).map(resultDirectory::resolve);
+    }
+
+    @Scheduled(fixedDelayString = "${student.jobs.purge-interval-ms:3600000}")
+    public void purgeFinishedJobs() {
+        List<Job> expired = jobRepository.findByFinishedAtBefore(LocalDateTime.now().minusHours(retentionHours));
+        for (Job job : expired) {
+            resultPath(job).ifPresent(this::deleteResultFile);
+        }
+        jobRepository.deleteAll(expired);
+    }
+
+    private void run(String jobId, JobTask task) {
+        Job job = jobRepository.findById(jobId).orElseThrow();
+        job.setStatus(Job.Status.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        jobRepository.save(job);
+
+        long started = System.nanoTime();
+        JobContext context = new JobContext(jobId, resultDirectory, jobRepository);
+        String result = null;
+        String error = null;
+        try {
+            Files.createDirectories(resultDirectory);
+            result = objectMapper.writeValueAsString(task.run(context));
+        } catch (Exception e) {
+            logger.warn("Job {} ({}) failed", jobId, job.getType(), e);
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+
+        // Re-read so the progress written while running is not overwritten
+        job = jobRepository.findById(jobId).orElse(job);
+        if (error == null) {
+            job.setStatus(Job.Status.SUCCEEDED);
+            job.setProgress(100);
+            job.setResult(result);
+            job.setResultFile(context.getResultFile());
+        } else {
+            if (context.getResultFile() != null) {
+                deleteResultFile(resultDirectory.resolve(context.getResultFile()));
+            }
+            job.setStatus(Job.Status.FAILED);
+            job.setError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        }
+        job.setFinishedAt(LocalDateTime.now());
+        jobRepository.save(job);
+
+        Timer.builder("jobs")
+                .description("Duration of background jobs")
+                .tag("type", job.getType())
+                .tag("outcome", job.getStatus().name().toLowerCase())
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private void deleteResultFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete job result file {}", file, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
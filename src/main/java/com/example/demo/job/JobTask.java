@@ -0,0 +1,13 @@
+package com.example.demo.job;
+
+/**
+ * The work of a background job
+ */
+@FunctionalInterface
+public interface JobTask {
+
+    /**
+     * Run the job; the returned value is stored as the job's JSON result
+     */
+    Object run(JobContext context) throws Exception;
+}
@@ -13,26 +13,36 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.example.demo.jwt.config.JwtProperties;
+import com.example.demo.outbound.bulkhead.HostBulkheadRegistry;
+import com.example.demo.outbound.exception.BulkheadFullException;
+
+import io.micrometer.core.annotation.Timed;
 
 /**
  * Client service for communicating with the centralized JWT service
  */
 @Service
+@Timed(value = "jwt.client", histogram = true)
 public class JwtServiceClient {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtServiceClient.class);
 
     private final RestTemplate restTemplate;
     private final JwtProperties jwtProperties;
+    private final HostBulkheadRegistry hostBulkheadRegistry;
 
     public JwtServiceClient(@Qualifier("jwtServiceRestTemplate") RestTemplate restTemplate,
-                           JwtProperties jwtProperties) {
+                           JwtProperties jwtProperties,
+                           HostBulkheadRegistry hostBulkheadRegistry) {
         this.restTemplate = restTemplate;
         this.jwtProperties = jwtProperties;
+        this.hostBulkheadRegistry = hostBulkheadRegistry;
     }
 
     /**
-     * Generate JWT token using centralized service
+     * Generate JWT token using centralized service.
+     * A saturated bulkhead is not retried; the {@link BulkheadFullException} reaches the caller,
+     * which falls back to local generation when enabled.
      */
     @SuppressWarnings({"java:S2142", "java:S2273"}) // Sleep in loop is acceptable for retry logic
     public JwtResponse generateToken(String username, String role) {
@@ -81,8 +91,8 @@ public class JwtServiceClient {
         
         logger.debug("Generating JWT token for user: {} with role: {}", username, role);
         
-        ResponseEntity<CentralizedJwtResponse> response = restTemplate.exchange(
-            url, HttpMethod.POST, entity, CentralizedJwtResponse.class);
+        ResponseEntity<CentralizedJwtResponse> response = hostBulkheadRegistry.execute(url, () -> restTemplate.exchange(
+            url, HttpMethod.POST, entity, CentralizedJwtResponse.class));
         
         if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
             CentralizedJwtResponse centralizedResponse = response.getBody();
@@ -162,8 +172,8 @@ public class JwtServiceClient {
         
         logger.debug("Validating JWT token");
         
-        ResponseEntity<CentralizedJwtValidationResponse> response = restTemplate.exchange(
-            url, HttpMethod.POST, entity, CentralizedJwtValidationResponse.class);
+        ResponseEntity<CentralizedJwtValidationResponse> response = hostBulkheadRegistry.execute(url, () -> restTemplate.exchange(
+            url, HttpMethod.POST, entity, CentralizedJwtValidationResponse.class));
         
         if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
             CentralizedJwtValidationResponse centralizedResponse = response.getBody();
@@ -203,8 +213,9 @@ public class JwtServiceClient {
             
             HttpEntity<JwtRevokeRequest> entity = new HttpEntity<>(request, headers);
             
-            logger.debug("Revoking JWT token");            ResponseEntity<?> response = restTemplate.exchange(
-                url, HttpMethod.POST, entity, Object.class);
+            logger.debug("Revoking JWT token");
+            ResponseEntity<?> response = hostBulkheadRegistry.execute(url, () -> restTemplate.exchange(
+                url, HttpMethod.POST, entity, Object.class));
             
             if (response.getStatusCode().is2xxSuccessful()) {
                 logger.debug("Successfully revoked JWT token");
@@ -214,7 +225,7 @@ public class JwtServiceClient {
                 return false;
             }
             
-        } catch (RestClientException e) {
+        } catch (RestClientException | BulkheadFullException e) {
             logger.error("Error communicating with JWT service for token revocation: {}", e.getMessage());
             return false;
         }
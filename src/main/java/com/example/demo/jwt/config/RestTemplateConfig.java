@@ -1,10 +1,15 @@
 package com.example.demo.jwt.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import com.example.demo.outbound.config.OutboundRequestFactories;
+import com.example.demo.outbound.metrics.OutboundMetricsInterceptor;
+
 /**
  * RestTemplate Configuration for JWT service HTTP client communication
  */
@@ -15,13 +20,16 @@ public class RestTemplateConfig {
      * Dedicated RestTemplate for JWT service communication with custom timeouts
      */
     @Bean("jwtServiceRestTemplate")
-    public RestTemplate jwtServiceRestTemplate(JwtProperties jwtProperties) {
+    public RestTemplate jwtServiceRestTemplate(JwtProperties jwtProperties,
+                                               OutboundMetricsInterceptor outboundMetricsInterceptor,
+                                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
         JwtProperties.CentralizedService centralizedConfig = jwtProperties.getCentralizedService();
         
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(centralizedConfig.getConnectionTimeout());
-        factory.setReadTimeout(centralizedConfig.getReadTimeout());
-        
-        return new RestTemplate(factory);
+        RestTemplate restTemplate = new RestTemplate(OutboundRequestFactories.create(
+                Duration.ofMillis(centralizedConfig.getConnectionTimeout()),
+                Duration.ofMillis(centralizedConfig.getReadTimeout()),
+                virtualThreadsEnabled));
+        restTemplate.getInterceptors().add(outboundMetricsInterceptor);
+        return restTemplate;
     }
 }
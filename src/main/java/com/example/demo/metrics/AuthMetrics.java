@@ -0,0 +1,50 @@
+package com.example.demo.metrics;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Authentication counters, exposed as {@code auth.attempts} tagged by
+ * {@code type} (login or token) and {@code outcome} (success or failure)
+ */
+@Component
+public class AuthMetrics {
+
+    private final Counter loginSuccesses;
+    private final Counter loginFailures;
+    private final Counter tokenSuccesses;
+    private final Counter tokenFailures;
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.loginSuccesses = counter(meterRegistry, "login", "success");
+        this.loginFailures = counter(meterRegistry, "login", "failure");
+        this.tokenSuccesses = counter(meterRegistry, "token", "success");
+        this.tokenFailures = counter(meterRegistry, "token", "failure");
+    }
+
+    public void loginSucceeded() {
+        loginSuccesses.increment();
+    }
+
+    public void loginFailed() {
+        loginFailures.increment();
+    }
+
+    public void tokenAccepted() {
+        tokenSuccesses.increment();
+    }
+
+    public void tokenRejected() {
+        tokenFailures.increment();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String type, String outcome) {
+        return Counter.builder("auth.attempts")
+                .description("Authentication attempts")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.metrics;
+
+import java.io.IOException;
+
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements each HTTP request issued, tagged by method and URI pattern,
+ * as the {@code http.server.db.queries} distribution summary.
+ */
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        RequestQueryCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int queries = RequestQueryCounter.stop();
+            // Only the matched pattern is used as a tag, never the raw path, to keep cardinality bounded
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.db.queries")
+                    .description("SQL statements issued per HTTP request")
+                    .baseUnit("queries")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(queries);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.metrics;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements prepared on the current thread
+ * between {@link #start()} and {@link #stop()}. Statements outside such a window are not counted.
+ *
+ * <p>Work that runs a query on another thread for waiting requests, like the batched by-id
+ * lookups, hands the waiters' windows to {@link #countFor} so the query is counted once for each
+ * of them. Other background work (enrichment, index builds) is not attributed to any request.
+ */
+public class RequestQueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new AtomicInteger());
+    }
+
+    /**
+     * End the counting window on this thread and return the number of statements seen
+     */
+    public static int stop() {
+        AtomicInteger count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * The counting window open on this thread, or {@code null} outside a window
+     */
+    public static AtomicInteger current() {
+        return COUNT.get();
+    }
+
+    /**
+     * Run {@code work} in a window of its own, then add the statements it prepared to each of the
+     * given windows. Any window already open on this thread is suspended meanwhile, so a waiter
+     * running the work itself is counted once.
+     */
+    public static <T> T countFor(Collection<AtomicInteger> windows, Supplier<T> work) {
+        AtomicInteger suspended = COUNT.get();
+        AtomicInteger count = new AtomicInteger();
+        COUNT.set(count);
+        try {
+            return work.get();
+        } finally {
+            if (suspended != null) {
+                COUNT.set(suspended);
+            } else {
+                COUNT.remove();
+            }
+            windows.forEach(window -> window.addAndGet(count.get()));
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = COUNT.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.metrics;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Actuator endpoint listing the slowest queries seen since startup.
+ * {@code slowStatements} are SQL statements that crossed {@code hibernate.log_slow_query};
+ * {@code slowestQueries} are JPQL/HQL queries ranked by their maximum execution time.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    private final SessionFactory sessionFactory;
+    private final int defaultLimit;
+    private final long thresholdMs;
+
+    public SlowQueriesEndpoint(EntityManagerFactory entityManagerFactory,
+                               @Value("${management.endpoint.slowqueries.top-n:10}") int defaultLimit,
+                               @Value("${spring.jpa.properties.hibernate.log_slow_query:0}") long thresholdMs) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.defaultLimit = defaultLimit;
+        this.thresholdMs = thresholdMs;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowQueries(@Nullable Integer limit) {
+        int topN = limit != null && limit > 0 ? limit : defaultLimit;
+        Statistics statistics = sessionFactory.getStatistics();
+
+        List<Map<String, Object>> slowStatements = statistics.getSlowQueries().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(topN)
+                .map(entry -> {
+                    Map<String, Object> statement = new LinkedHashMap<>();
+                    statement.put("sql", entry.getKey());
+                    statement.put("executionTimeMs", entry.getValue());
+                    return statement;
+                })
+                .toList();
+
+        List<Map<String, Object>> slowestQueries = Arrays.stream(statistics.getQueries())
+                .map(query -> Map.entry(query, statistics.getQueryStatistics(query)))
+                .filter(entry -> entry.getValue().getExecutionCount() > 0)
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, QueryStatistics> entry) -> entry.getValue().getExecutionMaxTime()).reversed())
+                .limit(topN)
+                .map(entry -> {
+                    QueryStatistics queryStatistics = entry.getValue();
+                    Map<String, Object> query = new LinkedHashMap<>();
+                    query.put("query", entry.getKey());
+                    query.put("executionCount", queryStatistics.getExecutionCount());
+                    query.put("maxTimeMs", queryStatistics.getExecutionMaxTime());
+                    query.put("avgTimeMs", queryStatistics.getExecutionAvgTime());
+                    query.put("minTimeMs", queryStatistics.getExecutionMinTime());
+                    query.put("rowCount", queryStatistics.getExecutionRowCount());
+                    return query;
+                })
+                .toList();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        response.put("slowQueryThresholdMs", thresholdMs);
+        response.put("slowStatements", slowStatements);
+        response.put("slowestQueries", slowestQueries);
+        return response;
+    }
+}
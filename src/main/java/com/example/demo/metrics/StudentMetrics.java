@@ -0,0 +1,43 @@
+package com.example.demo.metrics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.event.StudentChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts committed student writes as {@code students.created}, {@code students.updated}
+ * and {@code students.deleted}
+ */
+@Component
+public class StudentMetrics {
+
+    private final Counter created;
+    private final Counter updated;
+    private final Counter deleted;
+
+    public StudentMetrics(MeterRegistry meterRegistry) {
+        this.created = counter(meterRegistry, "students.created", "create", "Number of students created");
+        this.updated = counter(meterRegistry, "students.updated", "update", "Number of students updated");
+        this.deleted = counter(meterRegistry, "students.deleted", "delete", "Number of students deleted");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        switch (event.getChangeType()) {
+            case CREATED -> created.increment();
+            case UPDATED -> updated.increment();
+            case DELETED -> deleted.increment();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String operation, String description) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
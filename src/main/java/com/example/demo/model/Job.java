@@ -0,0 +1,153 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+/**
+ * A long-running operation run in the background. Progress is a percentage; the result is stored as
+ * JSON, or as a file when the job produces one.
+ */
+@Entity
+@Table(name = "job")
+public class Job {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Column(name = "type", nullable = false, length = 30)
+    private String type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private Status status;
+
+    @Column(name = "progress", nullable = false)
+    private int progress;
+
+    @Column(name = "submitted_by", nullable = false, length = 100)
+    private String submittedBy;
+
+    @Lob
+    @Column(name = "result")
+    private String result;
+
+    @Column(name = "result_file", length = 500)
+    private String resultFile;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public Job() {
+    }
+
+    public Job(String id, String type, String submittedBy, LocalDateTime createdAt) {
+        this.id = id;
+        this.type = type;
+        this.status = Status.QUEUED;
+        this.submittedBy = submittedBy;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public void setProgress(int progress) {
+        this.progress = progress;
+    }
+
+    public String getSubmittedBy() {
+        return submittedBy;
+    }
+
+    /**
+     * JSON of the result; {@code null} while unfinished and on failure
+     */
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    /**
+     * Name of the result file in the job result directory, for jobs that produce one
+     */
+    public String getResultFile() {
+        return resultFile;
+    }
+
+    public void setResultFile(String resultFile) {
+        this.resultFile = resultFile;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
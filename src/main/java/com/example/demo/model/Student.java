@@ -1,7 +1,8 @@
 package com.example.demo.model;
 
 import java.time.LocalDate;
-import java.time.Period;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -9,6 +10,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "student")
@@ -24,6 +26,12 @@ public class Student {
     @Column(name = "dob", nullable = false)
     private LocalDate dob;
 
+    // Sent to clients in the ETag header rather than the body
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonIgnore
+    private Long version;
+
     
     public Student() {
     }
@@ -56,7 +64,7 @@ public class Student {
     public void setName(String name) {
         this.name = name;
     }    public Integer getAge() {
-        return Period.between(this.dob, LocalDate.now()).getYears();
+        return StudentAge.yearsBetween(this.dob, StudentAge.today());
     }
 
     // Age is calculated dynamically, so setter is not needed
@@ -80,6 +88,14 @@ public class Student {
         this.dob = dob;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Student{" +
@@ -0,0 +1,63 @@
+package com.example.demo.model;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Age arithmetic shared by {@link Student} and the age index.
+ * "Today" is computed once per calendar day and cached, instead of on every
+ * {@link Student#getAge()} call during serialization and logging.
+ */
+public final class StudentAge {
+
+    private static volatile CachedDay cachedDay = new CachedDay(LocalDate.MIN, Long.MIN_VALUE);
+
+    private StudentAge() {
+    }
+
+    /**
+     * Current date in the system time zone, recomputed only after midnight
+     */
+    public static LocalDate today() {
+        CachedDay day = cachedDay;
+        long now = System.currentTimeMillis();
+        if (now < day.validUntilMillis) {
+            return day.date;
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate date = LocalDate.now(zone);
+        long nextMidnight = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        cachedDay = new CachedDay(date, nextMidnight);
+        return date;
+    }
+
+    /**
+     * Completed years between {@code dob} and {@code today}; same result as
+     * {@code Period.between(dob, today).getYears()} for past dates, without allocating a Period
+     */
+    public static int yearsBetween(LocalDate dob, LocalDate today) {
+        int years = today.getYear() - dob.getYear();
+        if (today.getMonthValue() < dob.getMonthValue()
+                || (today.getMonthValue() == dob.getMonthValue() && today.getDayOfMonth() < dob.getDayOfMonth())) {
+            years--;
+        }
+        return years;
+    }
+
+    /**
+     * Latest date of birth for which the age today is at least {@code age}
+     */
+    public static LocalDate latestDobForAge(int age, LocalDate today) {
+        return today.minusYears(age);
+    }
+
+    /**
+     * Earliest date of birth for which the age today is at most {@code age}
+     */
+    public static LocalDate earliestDobForAge(int age, LocalDate today) {
+        return today.minusYears(age + 1L).plusDays(1);
+    }
+
+    private record CachedDay(LocalDate date, long validUntilMillis) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/v1/student/batch}: a list of create, update and delete operations
+ * run in one transaction. With {@code atomic} set, any failed operation rolls back the whole batch.
+ */
+public class StudentBatchRequest {
+
+    private boolean atomic;
+    private List<Operation> operations = new ArrayList<>();
+
+    public StudentBatchRequest() {
+    }
+
+    // Getters and setters
+    public boolean isAtomic() {
+        return atomic;
+    }
+
+    public void setAtomic(boolean atomic) {
+        this.atomic = atomic;
+    }
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<Operation> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * A single operation; {@code op} is {@code create}, {@code update} or {@code delete}.
+     * Create uses name, email and dob; update uses id and the optional name and email; delete uses id.
+     */
+    public static class Operation {
+        private String op;
+        private Long id;
+        private String name;
+        private String email;
+        private LocalDate dob;
+
+        public Operation() {
+        }
+
+        // Getters and setters
+        public String getOp() {
+            return op;
+        }
+
+        public void setOp(String op) {
+            this.op = op;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public LocalDate getDob() {
+            return dob;
+        }
+
+        public void setDob(LocalDate dob) {
+            this.dob = dob;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+/**
+ * One entry of the student change log. {@code seq} increases with every write and is the
+ * position consumers resume from.
+ */
+@Entity
+@Table(name = "student_change_log")
+public class StudentChange {
+
+    /**
+     * Change type of a marker that a reader emits in place of sequence numbers it skipped
+     */
+    public static final String RESYNC = "RESYNC";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "change_type", nullable = false, length = 10)
+    private String changeType;
+
+    @Column(name = "student_id")
+    private Long studentId;
+
+    // JSON of the student after the change; null for deletions
+    @Lob
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public StudentChange() {
+    }
+
+    public StudentChange(String changeType, Long studentId, String payload, LocalDateTime changedAt) {
+        this.changeType = changeType;
+        this.studentId = studentId;
+        this.payload = payload;
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * Marker for a gap ending at {@code seq} that a reader skipped without seeing it filled; never stored.
+     * The skipped numbers may belong to a write that committed late, so consumers should re-read the students.
+     */
+    public static StudentChange resync(long seq, LocalDateTime changedAt) {
+        StudentChange marker = new StudentChange(RESYNC, null, null, changedAt);
+        marker.seq = seq;
+        return marker;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    /**
+     * The stored payload, written into responses as-is instead of being parsed and re-serialized
+     */
+    @JsonRawValue
+    public String getStudent() {
+        return payload;
+    }
+
+    @JsonIgnore
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
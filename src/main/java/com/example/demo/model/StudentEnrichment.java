@@ -0,0 +1,127 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "student_enrichment")
+public class StudentEnrichment {
+
+    public static final String STATUS_ENRICHED = "ENRICHED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    // JSON document returned by the external profile API
+    @Lob
+    @Column(name = "external_profile")
+    private String externalProfile;
+
+    // JSON document returned by the fun fact API
+    @Lob
+    @Column(name = "fun_fact")
+    private String funFact;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "enriched_at")
+    private LocalDateTime enrichedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public StudentEnrichment() {
+    }
+
+    public StudentEnrichment(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getExternalProfile() {
+        return externalProfile;
+    }
+
+    public void setExternalProfile(String externalProfile) {
+        this.externalProfile = externalProfile;
+    }
+
+    public String getFunFact() {
+        return funFact;
+    }
+
+    public void setFunFact(String funFact) {
+        this.funFact = funFact;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getEnrichedAt() {
+        return enrichedAt;
+    }
+
+    public void setEnrichedAt(LocalDateTime enrichedAt) {
+        this.enrichedAt = enrichedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentEnrichment{" +
+                "studentId=" + studentId +
+                ", status='" + status + '\'' +
+                ", attempts=" + attempts +
+                ", enrichedAt=" + enrichedAt +
+                '}';
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.demo.outbound.bulkhead;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.example.demo.outbound.config.OutboundProperties;
+import com.example.demo.outbound.exception.BulkheadFullException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-destination bulkheads for outbound HTTP calls.
+ * Each host gets its own bounded set of permits so that one slow upstream cannot
+ * occupy every request thread; callers that cannot get a permit within the bounded
+ * wait are rejected with {@link BulkheadFullException}.
+ */
+@Component
+public class HostBulkheadRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(HostBulkheadRegistry.class);
+
+    private final OutboundProperties.Bulkhead config;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, HostBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public HostBulkheadRegistry(OutboundProperties outboundProperties, MeterRegistry meterRegistry) {
+        this.config = outboundProperties.getBulkhead();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run an outbound call inside the bulkhead of the host addressed by {@code url}
+     */
+    public <T> T execute(String url, Supplier<T> call) {
+        if (!config.isEnabled()) {
+            return call.get();
+        }
+
+        HostBulkhead bulkhead = bulkheads.computeIfAbsent(hostOf(url), this::createBulkhead);
+        bulkhead.acquire();
+        try {
+            return call.get();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private HostBulkhead createBulkhead(String host) {
+        int maxConcurrentCalls = config.maxConcurrentCallsFor(host);
+        long maxWaitMs = config.maxWaitMsFor(host);
+        logger.debug("Creating bulkhead for host {} (maxConcurrentCalls={}, maxWaitMs={})",
+                host, maxConcurrentCalls, maxWaitMs);
+        return new HostBulkhead(host, maxConcurrentCalls, maxWaitMs);
+    }
+
+    static String hostOf(String url) {
+        try {
+            String host = UriComponentsBuilder.fromUriString(url).build().getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : "unknown";
+        } catch (IllegalArgumentException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * Semaphore-backed bulkhead for a single host, with its saturation meters
+     */
+    private final class HostBulkhead {
+
+        private final String host;
+        private final int maxConcurrentCalls;
+        private final long maxWaitMs;
+        private final Semaphore permits;
+        private final Counter rejected;
+
+        HostBulkhead(String host, int maxConcurrentCalls, long maxWaitMs) {
+            this.host = host;
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            this.maxWaitMs = maxWaitMs;
+            this.permits = new Semaphore(maxConcurrentCalls);
+
+            Gauge.builder("outbound.bulkhead.max.concurrent.calls", () -> this.maxConcurrentCalls)
+                    .description("Maximum concurrent outbound calls allowed per host")
+                    .tag("host", host)
+                    .register(meterRegistry);
+            Gauge.builder("outbound.bulkhead.active.calls", permits,
+                            p -> this.maxConcurrentCalls - p.availablePermits())
+                    .description("Outbound calls currently in flight per host")
+                    .tag("host", host)
+                    .register(meterRegistry);
+            Gauge.builder("outbound.bulkhead.queued.calls", permits, Semaphore::getQueueLength)
+                    .description("Callers waiting for a free bulkhead permit per host")
+                    .tag("host", host)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("outbound.bulkhead.rejected")
+                    .description("Outbound calls rejected because the host bulkhead was saturated")
+                    .tag("host", host)
+                    .register(meterRegistry);
+        }
+
+        void acquire() {
+            boolean acquired;
+            try {
+                acquired = maxWaitMs > 0
+                        ? permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)
+                        : permits.tryAcquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                rejected.increment();
+                logger.warn("Bulkhead for host {} is saturated, rejecting call", host);
+                throw new BulkheadFullException(host, maxConcurrentCalls);
+            }
+        }
+
+        void release() {
+            permits.release();
+        }
+    }
+}
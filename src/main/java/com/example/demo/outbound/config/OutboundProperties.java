@@ -0,0 +1,229 @@
+package com.example.demo.outbound.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Outbound HTTP Configuration Properties
+ * Configuration properties for calls made to third-party hosts and the centralized JWT service
+ */
+@Configuration
+@ConfigurationProperties(prefix = "outbound")
+public class OutboundProperties {
+
+    /**
+     * Per-host bulkhead configuration
+     */
+    private Bulkhead bulkhead = new Bulkhead();
+
+    /**
+     * In-flight coalescing of identical GET requests
+     */
+    private SingleFlight singleFlight = new SingleFlight();
+
+    /**
+     * Base URLs of the third-party hosts, overridable to point at a local stub
+     */
+    private Upstreams upstreams = new Upstreams();
+
+    // Getters and Setters
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public void setBulkhead(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    public void setSingleFlight(SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    public Upstreams getUpstreams() {
+        return upstreams;
+    }
+
+    public void setUpstreams(Upstreams upstreams) {
+        this.upstreams = upstreams;
+    }
+
+    /**
+     * Bulkhead configuration nested class.
+     * Defaults apply to every host; entries in {@code hosts} override them per host name,
+     * e.g. {@code outbound.bulkhead.hosts[restcountries.com].max-concurrent-calls=5}.
+     */
+    public static class Bulkhead {
+
+        private boolean enabled = true;
+        private int maxConcurrentCalls = 20;
+        private long maxWaitMs = 100; // bounded wait for a free permit before rejecting
+        private Map<String, HostLimits> hosts = new HashMap<>();
+
+        // Getters and Setters
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public long getMaxWaitMs() {
+            return maxWaitMs;
+        }
+
+        public void setMaxWaitMs(long maxWaitMs) {
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        public Map<String, HostLimits> getHosts() {
+            return hosts;
+        }
+
+        public void setHosts(Map<String, HostLimits> hosts) {
+            this.hosts = hosts;
+        }
+
+        public int maxConcurrentCallsFor(String host) {
+            HostLimits limits = hosts.get(host);
+            return limits != null && limits.getMaxConcurrentCalls() != null
+                    ? limits.getMaxConcurrentCalls() : maxConcurrentCalls;
+        }
+
+        public long maxWaitMsFor(String host) {
+            HostLimits limits = hosts.get(host);
+            return limits != null && limits.getMaxWaitMs() != null
+                    ? limits.getMaxWaitMs() : maxWaitMs;
+        }
+    }
+
+    /**
+     * Per-host overrides; unset values fall back to the bulkhead defaults
+     */
+    public static class HostLimits {
+
+        private Integer maxConcurrentCalls;
+        private Long maxWaitMs;
+
+        // Getters and Setters
+
+        public Integer getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(Integer maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public Long getMaxWaitMs() {
+            return maxWaitMs;
+        }
+
+        public void setMaxWaitMs(Long maxWaitMs) {
+            this.maxWaitMs = maxWaitMs;
+        }
+    }
+
+    /**
+     * Single-flight configuration nested class.
+     * Only the headers listed in {@code keyHeaders} distinguish otherwise identical GETs.
+     */
+    public static class SingleFlight {
+
+        private boolean enabled = true;
+        // Per-request tracing headers; every other forwarded header is part of the key
+        private List<String> ignoredHeaders = new ArrayList<>(
+                List.of("X-Request-Id", "X-Correlation-Id", "traceparent", "tracestate", "b3"));
+
+        // Getters and Setters
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getIgnoredHeaders() {
+            return ignoredHeaders;
+        }
+
+        public void setIgnoredHeaders(List<String> ignoredHeaders) {
+            this.ignoredHeaders = ignoredHeaders;
+        }
+    }
+
+    /**
+     * Upstream base URLs nested class
+     */
+    public static class Upstreams {
+
+        private String jokeApiBaseUrl = "https://official-joke-api.appspot.com";
+        private String jsonPlaceholderBaseUrl = "https://jsonplaceholder.typicode.com";
+        private String universitiesBaseUrl = "https://universities.hipolabs.com";
+        private String restCountriesBaseUrl = "https://restcountries.com";
+        private String openLibraryBaseUrl = "https://openlibrary.org";
+
+        // Getters and Setters
+
+        public String getJokeApiBaseUrl() {
+            return jokeApiBaseUrl;
+        }
+
+        public void setJokeApiBaseUrl(String jokeApiBaseUrl) {
+            this.jokeApiBaseUrl = jokeApiBaseUrl;
+        }
+
+        public String getJsonPlaceholderBaseUrl() {
+            return jsonPlaceholderBaseUrl;
+        }
+
+        public void setJsonPlaceholderBaseUrl(String jsonPlaceholderBaseUrl) {
+            this.jsonPlaceholderBaseUrl = jsonPlaceholderBaseUrl;
+        }
+
+        public String getUniversitiesBaseUrl() {
+            return universitiesBaseUrl;
+        }
+
+        public void setUniversitiesBaseUrl(String universitiesBaseUrl) {
+            this.universitiesBaseUrl = universitiesBaseUrl;
+        }
+
+        public String getRestCountriesBaseUrl() {
+            return restCountriesBaseUrl;
+        }
+
+        public void setRestCountriesBaseUrl(String restCountriesBaseUrl) {
+            this.restCountriesBaseUrl = restCountriesBaseUrl;
+        }
+
+        public String getOpenLibraryBaseUrl() {
+            return openLibraryBaseUrl;
+        }
+
+        public void setOpenLibraryBaseUrl(String openLibraryBaseUrl) {
+            this.openLibraryBaseUrl = openLibraryBaseUrl;
+        }
+    }
+}
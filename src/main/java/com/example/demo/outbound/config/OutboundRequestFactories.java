@@ -0,0 +1,40 @@
+package com.example.demo.outbound.config;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+/**
+ * Request factories shared by the outbound RestTemplates.
+ * In virtual-thread mode ({@code spring.threads.virtual.enabled=true}) calls go through the JDK
+ * {@link HttpClient}, whose blocking send parks a virtual thread instead of pinning its carrier,
+ * and any internal async work runs on virtual threads too. Otherwise the existing
+ * HttpURLConnection-based factory is kept.
+ */
+public final class OutboundRequestFactories {
+
+    private OutboundRequestFactories() {
+    }
+
+    public static ClientHttpRequestFactory create(Duration connectTimeout, Duration readTimeout, boolean virtualThreads) {
+        if (virtualThreads) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(connectTimeout)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+            factory.setReadTimeout(readTimeout);
+            return factory;
+        }
+
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(connectTimeout);
+        factory.setReadTimeout(readTimeout);
+        return factory;
+    }
+}
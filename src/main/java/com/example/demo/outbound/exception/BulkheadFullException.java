@@ -0,0 +1,18 @@
+package com.example.demo.outbound.exception;
+
+/**
+ * Thrown when the bulkhead for an outbound host has no free permit within its bounded wait
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    private final String host;
+
+    public BulkheadFullException(String host, int maxConcurrentCalls) {
+        super("Too many concurrent calls to " + host + " (limit " + maxConcurrentCalls + ")");
+        this.host = host;
+    }
+
+    public String getHost() {
+        return host;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.outbound.metrics;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every outbound HTTP exchange as {@code outbound.requests}, tagged by host, method,
+ * status and outcome, with a percentile histogram per host.
+ */
+@Component
+public class OutboundMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public OutboundMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = "IO_ERROR";
+        String outcome = "UNKNOWN";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int statusCode = response.getStatusCode().value();
+            status = String.valueOf(statusCode);
+            HttpStatus.Series series = HttpStatus.Series.resolve(statusCode);
+            outcome = series != null ? series.name() : "UNKNOWN";
+            return response;
+        } finally {
+            String host = request.getURI().getHost();
+            sample.stop(Timer.builder("outbound.requests")
+                    .description("Outbound HTTP request latency")
+                    .tag("host", host != null ? host.toLowerCase(Locale.ROOT) : "unknown")
+                    .tag("method", request.getMethod().name())
+                    .tag("status", status)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
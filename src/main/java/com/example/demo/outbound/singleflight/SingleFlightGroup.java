@@ -0,0 +1,138 @@
+package com.example.demo.outbound.singleflight;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.example.demo.outbound.config.OutboundProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-flight request coalescing for outbound GETs.
+ * The first caller for a key performs the upstream call; concurrent callers with the same
+ * key wait for and share its result instead of issuing their own request. Nothing is kept
+ * once the call completes, so this is not a cache.
+ */
+@Component
+public class SingleFlightGroup {
+
+    private final OutboundProperties.SingleFlight config;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public SingleFlightGroup(OutboundProperties outboundProperties, MeterRegistry meterRegistry) {
+        this.config = outboundProperties.getSingleFlight();
+        this.leaders = Counter.builder("outbound.singleflight.calls")
+                .description("Outbound GETs that went upstream")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("outbound.singleflight.calls")
+                .description("Outbound GETs that shared an in-flight upstream call")
+                .tag("role", "follower")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run {@code call} unless an identical call is already in flight, in which case wait for its result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+        if (!config.isEnabled()) {
+            return call.get();
+        }
+
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        leaders.increment();
+        try {
+            T result = call.get();
+            created.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Build the coalescing key for a GET: normalized URL, sorted query parameters and every forwarded
+     * header except the ignored ones. Headers such as API keys and cookies select the caller's
+     * response, so leaving any of them out would hand one caller another caller's data.
+     */
+    public String keyFor(String url, Map<String, String> queryParams, Map<String, String> headers) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(url).build();
+
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.addAll(uri.getQueryParams());
+        if (queryParams != null) {
+            queryParams.forEach(params::add);
+        }
+
+        StringBuilder key = new StringBuilder("GET ");
+        if (uri.getScheme() != null) {
+            key.append(uri.getScheme().toLowerCase(Locale.ROOT)).append("://");
+        }
+        if (uri.getHost() != null) {
+            key.append(uri.getHost().toLowerCase(Locale.ROOT));
+        }
+        if (uri.getPort() != -1 && !isDefaultPort(uri.getScheme(), uri.getPort())) {
+            key.append(':').append(uri.getPort());
+        }
+        String path = uri.getPath();
+        key.append(path == null || path.isEmpty() ? "/" : path);
+
+        char separator = '?';
+        for (String name : new TreeSet<>(params.keySet())) {
+            for (String value : params.get(name).stream()
+                    .map(v -> v == null ? "" : v)
+                    .sorted()
+                    .toList()) {
+                key.append(separator).append(name).append('=').append(value);
+                separator = '&';
+            }
+        }
+
+        if (headers != null && !headers.isEmpty()) {
+            TreeSet<String> relevant = new TreeSet<>();
+            headers.forEach((name, value) -> {
+                if (config.getIgnoredHeaders().stream().noneMatch(name::equalsIgnoreCase)) {
+                    relevant.add(name.toLowerCase(Locale.ROOT) + ": " + (value == null ? "" : value));
+                }
+            });
+            relevant.forEach(header -> key.append('\n').append(header));
+        }
+        return key.toString();
+    }
+
+    private static boolean isDefaultPort(String scheme, int port) {
+        return ("http".equalsIgnoreCase(scheme) && port == 80) || ("https".equalsIgnoreCase(scheme) && port == 443);
+    }
+}
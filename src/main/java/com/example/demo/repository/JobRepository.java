@@ -0,0 +1,30 @@
+package com.example.demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.model.Job;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, String> {
+
+    List<Job> findByStatusIn(Collection<Job.Status> statuses);
+
+    List<Job> findByFinishedAtBefore(LocalDateTime finishedAt);
+
+    /**
+     * Move progress forward, only while the job is still in {@code status}
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Job j SET j.progress = :progress WHERE j.id = :id AND j.status = :status AND j.progress < :progress")
+    int updateProgress(@Param("id") String id, @Param("status") Job.Status status, @Param("progress") int progress);
+}
@@ -0,0 +1,140 @@
+package com.example.demo.repository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.model.Student;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking, read-only access to the student table over R2DBC.
+ * The connection pool is owned here rather than exposed as a {@code ConnectionFactory} bean,
+ * so the JDBC DataSource used by JPA and Flyway keeps being auto-configured.
+ */
+@Repository
+public class ReactiveStudentRepository implements DisposableBean {
+
+    private static final String SELECT_COLUMNS = "SELECT id, name, email, dob FROM student";
+
+    // Whitelisted ORDER BY columns, since the sort field comes from the request
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "email", "email",
+            "dob", "dob");
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveStudentRepository(@Value("${reactive.r2dbc.url}") String url,
+                                     @Value("${reactive.r2dbc.username:sa}") String username,
+                                     @Value("${reactive.r2dbc.password:}") String password,
+                                     @Value("${reactive.r2dbc.pool.initial-size:2}") int initialSize,
+                                     @Value("${reactive.r2dbc.pool.max-size:10}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    public Flux<Student> findAll() {
+        return databaseClient.sql(SELECT_COLUMNS + " ORDER BY id")
+                .map(ReactiveStudentRepository::toStudent)
+                .all();
+    }
+
+    public Mono<Student> findById(Long id) {
+        return databaseClient.sql(SELECT_COLUMNS + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveStudentRepository::toStudent)
+                .one();
+    }
+
+    /**
+     * Filtered, sorted page of students. Age bounds are passed as date-of-birth bounds so the
+     * whole filter runs in the database instead of on the fetched page.
+     */
+    public Flux<Student> search(String name, String email, LocalDate bornOnOrAfter, LocalDate bornOnOrBefore,
+                                int page, int size, String sortBy, boolean ascending) {
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS).append(" WHERE 1 = 1");
+        if (name != null && !name.isBlank()) {
+            sql.append(" AND LOWER(name) LIKE :name");
+        }
+        if (email != null && !email.isBlank()) {
+            sql.append(" AND LOWER(email) LIKE :email");
+        }
+        if (bornOnOrAfter != null) {
+            sql.append(" AND dob >= :bornOnOrAfter");
+        }
+        if (bornOnOrBefore != null) {
+            sql.append(" AND dob <= :bornOnOrBefore");
+        }
+        sql.append(" ORDER BY ").append(SORT_COLUMNS.getOrDefault(sortBy, "name"))
+                .append(ascending ? " ASC" : " DESC")
+                .append(", id LIMIT :limit OFFSET :offset");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("limit", size)
+                .bind("offset", (long) page * size);
+        if (name != null && !name.isBlank()) {
+            spec = spec.bind("name", "%" + name.toLowerCase() + "%");
+        }
+        if (email != null && !email.isBlank()) {
+            spec = spec.bind("email", "%" + email.toLowerCase() + "%");
+        }
+        if (bornOnOrAfter != null) {
+            spec = spec.bind("bornOnOrAfter", bornOnOrAfter);
+        }
+        if (bornOnOrBefore != null) {
+            spec = spec.bind("bornOnOrBefore", bornOnOrBefore);
+        }
+        return spec.map(ReactiveStudentRepository::toStudent).all();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM student")
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    /**
+     * Dates of birth only, for aggregations that do not need whole rows
+     */
+    public Flux<LocalDate> findAllDatesOfBirth() {
+        return databaseClient.sql("SELECT dob FROM student")
+                .map(row -> row.get("dob", LocalDate.class))
+                .all();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private static Student toStudent(Readable row) {
+        return new Student(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("dob", LocalDate.class));
+    }
+}
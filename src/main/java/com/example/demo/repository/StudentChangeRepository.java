@@ -0,0 +1,18 @@
+package com.example.demo.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.model.StudentChange;
+
+@Repository
+public interface StudentChangeRepository extends JpaRepository<StudentChange, Long> {
+
+    /**
+     * Next entries after {@code seq} in log order, served by the primary key index
+     */
+    List<StudentChange> findBySeqGreaterThanOrderBySeqAsc(long seq, Limit limit);
+}
@@ -0,0 +1,21 @@
+package com.example.demo.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.model.StudentEnrichment;
+
+@Repository
+public interface StudentEnrichmentRepository extends JpaRepository<StudentEnrichment, Long> {
+
+    /**
+     * Student and its stored enrichment (or null) in one primary-key join.
+     * Each row is {@code [Student, StudentEnrichment]}; the list is empty if the student does not exist.
+     */
+    @Query("SELECT s, e FROM Student s LEFT JOIN StudentEnrichment e ON e.studentId = s.id WHERE s.id = :studentId")
+    List<Object[]> findStudentWithEnrichment(@Param("studentId") Long studentId);
+}
@@ -0,0 +1,21 @@
+package com.example.demo.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Column projections of students, for callers that only need some fields
+ */
+public interface StudentProjectionRepository {
+
+    /**
+     * Select only the given {@link com.example.demo.model.Student} attributes, with the same name and email
+     * filters as {@link StudentRepository#findStudentsWithFilters}. Rows are returned as maps keyed by
+     * attribute name; no entities are loaded into the persistence context.
+     *
+     * @param pageable page and sort to apply, or {@link Pageable#unpaged()} for every row
+     */
+    List<Map<String, Object>> findColumns(List<String> attributes, String name, String email, Pageable pageable);
+}
@@ -0,0 +1,73 @@
+package com.example.demo.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.example.demo.model.Student;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Criteria tuple queries behind {@link StudentProjectionRepository}. Only the requested columns
+ * appear in the SELECT, and tuples are plain values rather than managed entities.
+ */
+public class StudentProjectionRepositoryImpl implements StudentProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findColumns(List<String> attributes, String name, String email, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Student> student = query.from(Student.class);
+
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(student.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (name != null) {
+            predicates.add(cb.like(cb.lower(student.get("name")), "%" + name.toLowerCase() + "%"));
+        }
+        if (email != null) {
+            predicates.add(cb.like(cb.lower(student.get("email")), "%" + email.toLowerCase() + "%"));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), student, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Tuple> tuples = typedQuery.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String attribute : attributes) {
+                row.put(attribute, tuple.get(attribute));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -14,7 +14,7 @@ import org.springframework.stereotype.Repository;
 import com.example.demo.model.Student;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentProjectionRepository {
     @Query("SELECT s FROM Student s WHERE s.email = ?1")
     Optional<Student> findStudentByEmail(String email);
     
@@ -36,4 +36,10 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     
     @Query("SELECT s FROM Student s WHERE EXTRACT(YEAR FROM s.dob) = :year")
     List<Student> findStudentsByBirthYear(@Param("year") int year);
+
+    /**
+     * {@code [id, dob]} of every student, for building the in-memory age index
+     */
+    @Query("SELECT s.id, s.dob FROM Student s")
+    List<Object[]> findAllIdAndDob();
 }
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -16,13 +17,20 @@ import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.example.demo.outbound.bulkhead.HostBulkheadRegistry;
+import com.example.demo.outbound.config.OutboundProperties;
+import com.example.demo.outbound.exception.BulkheadFullException;
+import com.example.demo.outbound.singleflight.SingleFlightGroup;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.annotation.Timed;
+
 /**
  * Service class for making external API calls
  */
 @Service
+@Timed(value = "external.api.service", histogram = true)
 public class ExternalApiService {
 
     @Autowired
@@ -31,6 +39,15 @@ public class ExternalApiService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private HostBulkheadRegistry hostBulkheadRegistry;
+
+    @Autowired
+    private SingleFlightGroup singleFlightGroup;
+
+    @Autowired
+    private OutboundProperties outboundProperties;
+
     /**
      * Make a GET request to an external API
      * 
@@ -40,6 +57,21 @@ public class ExternalApiService {
      * @return Response as a Map
      */
     public Map<String, Object> getFromExternalApi(String url, Map<String, String> headers, Map<String, String> queryParams) {
+        // Identical concurrent GETs share one upstream call and its parsed result
+        String key;
+        try {
+            key = singleFlightGroup.keyFor(url, queryParams, headers);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", true);
+            errorResponse.put("message", "Invalid URL or parameters: " + e.getMessage());
+            return errorResponse;
+        }
+        Map<String, Object> shared = singleFlightGroup.execute(key, () -> executeGet(url, headers, queryParams));
+        return new HashMap<>(shared);
+    }
+
+    private Map<String, Object> executeGet(String url, Map<String, String> headers, Map<String, String> queryParams) {
         try {
             // Build URL with query parameters
             UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(url);
@@ -55,14 +87,15 @@ public class ExternalApiService {
             }
 
             HttpEntity<String> entity = new HttpEntity<>(httpHeaders);
+            String requestUrl = builder.toUriString();
 
-            // Make the request
-            ResponseEntity<String> response = restTemplate.exchange(
-                    builder.toUriString(),
+            // Make the request inside the bulkhead of the target host
+            ResponseEntity<String> response = hostBulkheadRegistry.execute(requestUrl, () -> restTemplate.exchange(
+                    requestUrl,
                     HttpMethod.GET,
                     entity,
                     String.class
-            );
+            ));
 
             // Parse response
             return parseResponse(response);
@@ -84,6 +117,12 @@ public class ExternalApiService {
             errorResponse.put("error", true);
             errorResponse.put("message", "Invalid URL or parameters: " + e.getMessage());
             return errorResponse;
+        } catch (BulkheadFullException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", true);
+            errorResponse.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+            errorResponse.put("message", e.getMessage());
+            return errorResponse;
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", true);
@@ -111,13 +150,13 @@ public class ExternalApiService {
 
             HttpEntity<Object> entity = new HttpEntity<>(requestBody, httpHeaders);
 
-            // Make the request
-            ResponseEntity<String> response = restTemplate.exchange(
+            // Make the request inside the bulkhead of the target host
+            ResponseEntity<String> response = hostBulkheadRegistry.execute(url, () -> restTemplate.exchange(
                     url,
                     HttpMethod.POST,
                     entity,
                     String.class
-            );
+            ));
 
             // Parse response
             return parseResponse(response);
@@ -139,6 +178,12 @@ public class ExternalApiService {
             errorResponse.put("error", true);
             errorResponse.put("message", "Invalid URL or request data: " + e.getMessage());
             return errorResponse;
+        } catch (BulkheadFullException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", true);
+            errorResponse.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+            errorResponse.put("message", e.getMessage());
+            return errorResponse;
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", true);
@@ -167,13 +212,13 @@ public class ExternalApiService {
 
             HttpEntity<Object> entity = new HttpEntity<>(requestBody, httpHeaders);
 
-            // Make the request
-            ResponseEntity<String> response = restTemplate.exchange(
+            // Make the request inside the bulkhead of the target host
+            ResponseEntity<String> response = hostBulkheadRegistry.execute(url, () -> restTemplate.exchange(
                     url,
                     method,
                     entity,
                     String.class
-            );
+            ));
 
             // Parse response
             return parseResponse(response);
@@ -195,6 +240,12 @@ public class ExternalApiService {
             errorResponse.put("error", true);
             errorResponse.put("message", "Invalid URL, method, or request data: " + e.getMessage());
             return errorResponse;
+        } catch (BulkheadFullException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", true);
+            errorResponse.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+            errorResponse.put("message", e.getMessage());
+            return errorResponse;
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", true);
@@ -206,7 +257,7 @@ public class ExternalApiService {
     /**
      * Parse response from external API
      */
-    private Map<String, Object> parseResponse(ResponseEntity<String> response) {
+    Map<String, Object> parseResponse(ResponseEntity<String> response) {
         Map<String, Object> result = new HashMap<>();
         result.put("status", response.getStatusCode().value());
         result.put("headers", response.getHeaders().toSingleValueMap());
@@ -226,7 +277,7 @@ public class ExternalApiService {
      * Call a public API example (no authentication required)
      */
     public Map<String, Object> getRandomJoke() {
-        String url = "https://official-joke-api.appspot.com/random_joke";
+        String url = outboundProperties.getUpstreams().getJokeApiBaseUrl() + "/random_joke";
         return getFromExternalApi(url, null, null);
     }
 
@@ -234,7 +285,7 @@ public class ExternalApiService {
      * Call JSONPlaceholder API example
      */
     public Map<String, Object> getJsonPlaceholderUser(Long userId) {
-        String url = "https://jsonplaceholder.typicode.com/users/" + userId;
+        String url = outboundProperties.getUpstreams().getJsonPlaceholderBaseUrl() + "/users/" + userId;
         return getFromExternalApi(url, null, null);
     }
 
@@ -242,7 +293,7 @@ public class ExternalApiService {
      * Create a post on JSONPlaceholder (test API)
      */
     public Map<String, Object> createJsonPlaceholderPost(String title, String body, Long userId) {
-        String url = "https://jsonplaceholder.typicode.com/posts";
+        String url = outboundProperties.getUpstreams().getJsonPlaceholderBaseUrl() + "/posts";
         
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("title", title);
@@ -0,0 +1,87 @@
+package com.example.demo.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+
+import com.example.demo.model.Student;
+import com.example.demo.repository.ReactiveStudentRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only student queries for the reactive API. Mirrors the read side of {@link StudentService}
+ * without blocking a request thread while the database works.
+ */
+@Service
+public class ReactiveStudentService {
+
+    private final ReactiveStudentRepository reactiveStudentRepository;
+
+    public ReactiveStudentService(ReactiveStudentRepository reactiveStudentRepository) {
+        this.reactiveStudentRepository = reactiveStudentRepository;
+    }
+
+    public Flux<Student> getStudents() {
+        return reactiveStudentRepository.findAll();
+    }
+
+    public Mono<Student> getStudentById(Long studentId) {
+        return reactiveStudentRepository.findById(studentId);
+    }
+
+    public Flux<Student> searchStudents(String name, String email, Integer minAge, Integer maxAge,
+                                        int page, int size, String sortBy, String sortDirection) {
+        LocalDate today = LocalDate.now();
+        // age >= minAge  <=>  born on or before today minus minAge years
+        LocalDate bornOnOrBefore = minAge != null ? today.minusYears(minAge) : null;
+        // age <= maxAge  <=>  born after today minus (maxAge + 1) years
+        LocalDate bornOnOrAfter = maxAge != null ? today.minusYears(maxAge + 1L).plusDays(1) : null;
+        return reactiveStudentRepository.search(name, email, bornOnOrAfter, bornOnOrBefore,
+                page, size, sortBy, !"desc".equalsIgnoreCase(sortDirection));
+    }
+
+    /**
+     * Same shape as {@link StudentService#getStudentStatistics()}, aggregated while dates of birth
+     * stream in rather than after loading every student.
+     */
+    public Mono<Map<String, Object>> getStudentStatistics() {
+        LocalDate today = LocalDate.now();
+        return reactiveStudentRepository.findAllDatesOfBirth()
+                .map(dob -> Period.between(dob, today).getYears())
+                .reduce(new AgeAccumulator(), AgeAccumulator::add)
+                .map(accumulator -> {
+                    Map<String, Object> stats = new HashMap<>();
+                    stats.put("totalStudents", accumulator.count);
+                    stats.put("averageAge", accumulator.count == 0 ? 0.0
+                            : Math.round((double) accumulator.ageSum / accumulator.count * 100.0) / 100.0);
+                    stats.put("ageDistribution", accumulator.ageGroups);
+                    stats.put("generatedAt", LocalDateTime.now());
+                    return stats;
+                });
+    }
+
+    private static final class AgeAccumulator {
+        private long count;
+        private long ageSum;
+        private final Map<String, Long> ageGroups = new TreeMap<>();
+
+        AgeAccumulator add(int age) {
+            count++;
+            ageSum += age;
+            String group;
+            if (age < 20) group = "Under 20";
+            else if (age < 30) group = "20-29";
+            else if (age < 40) group = "30-39";
+            else group = "40+";
+            ageGroups.merge(group, 1L, Long::sum);
+            return this;
+        }
+    }
+}
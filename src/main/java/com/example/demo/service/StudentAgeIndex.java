@@ -0,0 +1,345 @@
+package com.example.demo.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.event.StudentChangedEvent;
+import com.example.demo.model.StudentAge;
+import com.example.demo.repository.StudentRepository;
+
+/**
+ * In-memory index of students by date of birth, for age queries without loading entities.
+ * Holds two parallel primitive arrays, dob epoch days sorted ascending and the matching ids. Since age only depends on
+ * dob, every age range is a contiguous slice found by binary search on today's date bounds.
+ * Readers use an immutable snapshot; writes copy the arrays and swap the snapshot in.
+ *
+ * <p>Writers take a {@link ReentrantLock} rather than a monitor, and the full-table query of a load
+ * runs outside it, so neither pins a virtual thread's carrier while waiting on the database.
+ */
+@Component
+public class StudentAgeIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentAgeIndex.class);
+
+    private final StudentRepository studentRepository;
+    private final boolean enabled;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // One list per load in progress, collecting the writes that commit while its query runs
+    private final List<List<StudentChangedEvent>> loadsInProgress = new ArrayList<>();
+    private volatile Snapshot snapshot;
+
+    public StudentAgeIndex(StudentRepository studentRepository,
+                           @Value("${student.age-index.enabled:true}") boolean enabled) {
+        this.studentRepository = studentRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Whether queries can be answered from the index; false until the initial load has finished
+     */
+    public boolean isReady() {
+        return enabled && snapshot != null;
+    }
+
+    /**
+     * Build the index from the table. Writes that commit while the query runs are applied on top of
+     * its result; remove-then-add keeps that idempotent for writes the query already saw.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        List<StudentChangedEvent> changedWhileLoading = new ArrayList<>();
+        lock.lock();
+        try {
+            loadsInProgress.add(changedWhileLoading);
+        } finally {
+            lock.unlock();
+        }
+
+        List<Object[]> rows = null;
+        try {
+            rows = studentRepository.findAllIdAndDob();
+        } finally {
+            lock.lock();
+            try {
+                loadsInProgress.removeIf(changes -> changes == changedWhileLoading);
+                if (rows != null) {
+                    snapshot = sort(rows);
+                    changedWhileLoading.forEach(this::apply);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        logger.info("Student age index built with {} entries in {} ms",
+                snapshot.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Replace the index contents with the given {@code [id, dob]} rows
+     */
+    public void rebuild(List<Object[]> idAndDobRows) {
+        lock.lock();
+        try {
+            snapshot = sort(idAndDobRows);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply a committed write. A bulk change reloads the whole index, also when it commits during
+     * the initial load, whose query may have missed part of it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        boolean reload;
+        lock.lock();
+        try {
+            reload = event.getChangeType() == StudentChangedEvent.ChangeType.BULK
+                    && (snapshot != null || !loadsInProgress.isEmpty());
+            for (List<StudentChangedEvent> changes : loadsInProgress) {
+                changes.add(event);
+            }
+            if (snapshot != null) {
+                apply(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (reload) {
+            load();
+        }
+    }
+
+    private static Snapshot sort(List<Object[]> idAndDobRows) {
+        int size = idAndDobRows.size();
+        long[] packed = new long[size];
+        long[] ids = new long[size];
+        int[] days = new int[size];
+        for (int i = 0; i < size; i++) {
+            Object[] row = idAndDobRows.get(i);
+            ids[i] = (Long) row[0];
+            days[i] = (int) ((LocalDate) row[1]).toEpochDay();
+            packed[i] = ((long) days[i] << 32) | i;
+        }
+        // Sort positions by dob without boxing: dob in the high bits, original position in the low bits
+        Arrays.sort(packed);
+        long[] sortedIds = new long[size];
+        int[] sortedDays = new int[size];
+        for (int i = 0; i < size; i++) {
+            int position = (int) packed[i];
+            sortedIds[i] = ids[position];
+            sortedDays[i] = days[position];
+        }
+        return new Snapshot(sortedDays, sortedIds);
+    }
+
+    /**
+     * Apply a single-student write to the snapshot; bulk changes are handled by reloading.
+     * Called with the lock held.
+     */
+    private void apply(StudentChangedEvent event) {
+        switch (event.getChangeType()) {
+            case CREATED, UPDATED -> {
+                remove(event.getStudentId());
+                add(event.getStudentId(), event.getStudent().getDob());
+            }
+            case DELETED -> remove(event.getStudentId());
+            case BULK -> {
+            }
+        }
+    }
+
+    /**
+     * Ids of students whose age today is between {@code minAge} and {@code maxAge} inclusive, sorted by id
+     */
+    public long[] idsWithAgeBetween(int minAge, int maxAge) {
+        LocalDate today = StudentAge.today();
+        return slice(StudentAge.earliestDobForAge(maxAge, today), StudentAge.latestDobForAge(minAge, today));
+    }
+
+    /**
+     * Ids of students strictly older than {@code age}, sorted by id
+     */
+    public long[] idsOlderThan(int age) {
+        return slice(LocalDate.MIN, StudentAge.latestDobForAge(age + 1, StudentAge.today()));
+    }
+
+    /**
+     * Ids of students strictly younger than {@code age}, sorted by id
+     */
+    public long[] idsYoungerThan(int age) {
+        return slice(StudentAge.earliestDobForAge(age - 1, StudentAge.today()), LocalDate.MAX);
+    }
+
+    /**
+     * Number of students whose age today is between {@code minAge} and {@code maxAge} inclusive
+     */
+    public int countWithAgeBetween(int minAge, int maxAge) {
+        LocalDate today = StudentAge.today();
+        Snapshot current = snapshot;
+        return current.upperBound(StudentAge.latestDobForAge(minAge, today))
+                - current.lowerBound(StudentAge.earliestDobForAge(maxAge, today));
+    }
+
+    /**
+     * Number of students whose age today is below {@code age}
+     */
+    public int countYoungerThan(int age) {
+        Snapshot current = snapshot;
+        return current.size() - current.lowerBound(StudentAge.earliestDobForAge(age - 1, StudentAge.today()));
+    }
+
+    /**
+     * Sum of all students' ages today, computed per age band rather than per student
+     */
+    public long totalAge() {
+        LocalDate today = StudentAge.today();
+        Snapshot current = snapshot;
+        long total = 0;
+        // Sorted by dob ascending means oldest first; walk bands of equal age from the end
+        int end = current.size();
+        int age = 0;
+        while (end > 0) {
+            int start = current.lowerBound(StudentAge.earliestDobForAge(age, today));
+            total += (long) age * (end - start);
+            end = Math.min(end, start);
+            age++;
+        }
+        return total;
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    private long[] slice(LocalDate earliestDob, LocalDate latestDob) {
+        Snapshot current = snapshot;
+        int from = current.lowerBound(earliestDob);
+        int to = current.upperBound(latestDob);
+        if (from >= to) {
+            return new long[0];
+        }
+        long[] ids = Arrays.copyOfRange(current.ids, from, to);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private void add(Long studentId, LocalDate dob) {
+        if (studentId == null || dob == null) {
+            return;
+        }
+        Snapshot current = snapshot;
+        int day = (int) dob.toEpochDay();
+        int position = current.upperBound(day);
+        int size = current.size();
+        int[] days = new int[size + 1];
+        long[] ids = new long[size + 1];
+        System.arraycopy(current.days, 0, days, 0, position);
+        System.arraycopy(current.ids, 0, ids, 0, position);
+        days[position] = day;
+        ids[position] = studentId;
+        System.arraycopy(current.days, position, days, position + 1, size - position);
+        System.arraycopy(current.ids, position, ids, position + 1, size - position);
+        snapshot = new Snapshot(days, ids);
+    }
+
+    private void remove(Long studentId) {
+        if (studentId == null) {
+            return;
+        }
+        Snapshot current = snapshot;
+        int position = -1;
+        for (int i = 0; i < current.ids.length; i++) {
+            if (current.ids[i] == studentId) {
+                position = i;
+                break;
+            }
+        }
+        if (position < 0) {
+            return;
+        }
+        int size = current.size();
+        int[] days = new int[size - 1];
+        long[] ids = new long[size - 1];
+        System.arraycopy(current.days, 0, days, 0, position);
+        System.arraycopy(current.ids, 0, ids, 0, position);
+        System.arraycopy(current.days, position + 1, days, position, size - position - 1);
+        System.arraycopy(current.ids, position + 1, ids, position, size - position - 1);
+        snapshot = new Snapshot(days, ids);
+    }
+
+    /**
+     * Immutable index contents: {@code days} sorted ascending, {@code ids} in the same order
+     */
+    private record Snapshot(int[] days, long[] ids) {
+
+        int size() {
+            return days.length;
+        }
+
+        /**
+         * First position whose dob is on or after {@code date}
+         */
+        int lowerBound(LocalDate date) {
+            if (date.equals(LocalDate.MIN)) {
+                return 0;
+            }
+            return lowerBound((int) Math.max(Integer.MIN_VALUE, date.toEpochDay()));
+        }
+
+        /**
+         * First position whose dob is after {@code date}
+         */
+        int upperBound(LocalDate date) {
+            if (date.equals(LocalDate.MAX)) {
+                return days.length;
+            }
+            return upperBound((int) Math.min(Integer.MAX_VALUE, date.toEpochDay()));
+        }
+
+        int lowerBound(int day) {
+            int low = 0;
+            int high = days.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (days[mid] < day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int upperBound(int day) {
+            int low = 0;
+            int high = days.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (days[mid] <= day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
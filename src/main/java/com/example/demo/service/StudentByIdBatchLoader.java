@@ -0,0 +1,198 @@
+package com.example.demo.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.metrics.RequestQueryCounter;
+import com.example.demo.model.Student;
+import com.example.demo.repository.StudentRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Batches concurrent by-id lookups into a single {@code WHERE id IN (...)} query.
+ * The first lookup opens a batch; the batch is resolved when the window elapses or when it
+ * reaches the maximum size, whichever comes first. Lookups for the same id inside one batch
+ * share a result. Under fan-in this replaces many single-row queries, each holding its own
+ * pooled connection, with one query on one connection.
+ *
+ * <p>Every waiter is completed, with the batch's failure if the query throws or the batch cannot
+ * be scheduled, and waits no longer than the await timeout. The batch query usually runs on
+ * another thread, so it is added to the per-request query count of every request waiting on it.
+ */
+@Component
+public class StudentByIdBatchLoader {
+
+    private final StudentRepository studentRepository;
+    private final boolean enabled;
+    private final long windowMicros;
+    private final int maxBatchSize;
+    private final long awaitTimeoutMillis;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService dispatcher;
+    private final DistributionSummary batchSizes;
+
+    // A lock rather than a monitor, so virtual threads waiting for it do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch pending = new Batch();
+
+    public StudentByIdBatchLoader(StudentRepository studentRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${student.batch-loader.enabled:true}") boolean enabled,
+                                  @Value("${student.batch-loader.window-micros:1000}") long windowMicros,
+                                  @Value("${student.batch-loader.max-batch-size:50}") int maxBatchSize,
+                                  @Value("${student.batch-loader.await-timeout-ms:5000}") long awaitTimeoutMillis,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.studentRepository = studentRepository;
+        this.enabled = enabled;
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("student-batch-loader-timer").daemon(true).factory());
+        this.dispatcher = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newCachedThreadPool(Thread.ofPlatform().name("student-batch-loader-", 0).daemon(true).factory());
+        this.batchSizes = DistributionSummary.builder("student.batchloader.batch.size")
+                .description("Ids resolved per batched by-id query")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Look up a student by id, sharing the query with other lookups in the same window
+     */
+    public Optional<Student> load(Long studentId) {
+        if (!enabled) {
+            return studentRepository.findById(studentId);
+        }
+
+        CompletableFuture<Optional<Student>> result;
+        Batch fullBatch = null;
+        RejectedExecutionException rejected = null;
+        AtomicInteger queryCount = RequestQueryCounter.current();
+        lock.lock();
+        try {
+            if (queryCount != null) {
+                pending.queryCounts.add(queryCount);
+            }
+            result = pending.futures.get(studentId);
+            if (result == null) {
+                result = new CompletableFuture<>();
+                pending.futures.put(studentId, result);
+                if (pending.futures.size() == 1) {
+                    Batch batch = pending;
+                    try {
+                        timer.schedule(() -> flushOnTimeout(batch), windowMicros, TimeUnit.MICROSECONDS);
+                    } catch (RejectedExecutionException e) {
+                        // No timer will flush this batch, so it fails now rather than leaving it pending
+                        rejected = e;
+                    }
+                }
+                if (rejected != null || pending.futures.size() >= maxBatchSize) {
+                    fullBatch = pending;
+                    pending = new Batch();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (rejected != null) {
+            fail(fullBatch, rejected);
+        } else if (fullBatch != null) {
+            // The caller that fills the batch resolves it directly instead of waiting for the timer
+            resolve(fullBatch);
+        }
+        return await(studentId, result);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        dispatcher.shutdown();
+    }
+
+    private void flushOnTimeout(Batch batch) {
+        lock.lock();
+        try {
+            if (pending != batch) {
+                return; // Already flushed because it filled up
+            }
+            pending = new Batch();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            dispatcher.execute(() -> resolve(batch));
+        } catch (RejectedExecutionException e) {
+            fail(batch, e);
+        }
+    }
+
+    private void resolve(Batch batch) {
+        batchSizes.record(batch.futures.size());
+        try {
+            Map<Long, Student> found = new HashMap<>();
+            for (Student student : RequestQueryCounter.countFor(batch.queryCounts,
+                    () -> studentRepository.findAllById(batch.futures.keySet()))) {
+                found.put(student.getId(), student);
+            }
+            batch.futures.forEach((id, future) -> future.complete(Optional.ofNullable(found.get(id))));
+        } catch (Throwable e) {
+            fail(batch, e);
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private static void fail(Batch batch, Throwable cause) {
+        batch.futures.values().forEach(future -> future.completeExceptionally(cause));
+    }
+
+    private Optional<Student> await(Long studentId, CompletableFuture<Optional<Student>> result) {
+        try {
+            return result.get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(
+                    "Timed out after " + awaitTimeoutMillis + " ms waiting for the batched lookup of student " + studentId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the batched lookup of student " + studentId);
+        }
+    }
+
+    private static final class Batch {
+        private final Map<Long, CompletableFuture<Optional<Student>>> futures = new HashMap<>();
+        // Query-count windows of the requests waiting on this batch
+        private final Set<AtomicInteger> queryCounts = new HashSet<>();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.event.StudentChangedEvent;
+import com.example.demo.model.Student;
+import com.example.demo.model.StudentChange;
+import com.example.demo.repository.StudentChangeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Change-data-capture log of student writes.
+ * Every {@link StudentChangedEvent} is appended to {@code student_change_log} inside the writing
+ * transaction, so an entry exists exactly when its change committed. Consumers follow the log from a
+ * sequence number: the backlog is read in pages, then new entries as they commit.
+ *
+ * <p>Sequence numbers are assigned at insert but transactions can commit out of order, so a
+ * reader may briefly see seq 12 before seq 11. Reads stop at such a gap until it is older than
+ * the gap grace period. After that the missing numbers are skipped, usually a rolled-back write, but
+ * possibly one from a transaction still running (a large batch), so a {@link StudentChange#RESYNC}
+ * marker takes their place to tell consumers they may have missed changes.
+ */
+@Service
+public class StudentChangeLog {
+
+    private final StudentChangeRepository studentChangeRepository;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final Duration pollInterval;
+    private final Duration gapGrace;
+
+    // Signals committed writes so followers read immediately instead of waiting for the next poll
+    private final Sinks.Many<Boolean> commits = Sinks.many().multicast().directBestEffort();
+
+    public StudentChangeLog(StudentChangeRepository studentChangeRepository,
+                            ObjectMapper objectMapper,
+                            @Value("${student.change-feed.page-size:500}") int pageSize,
+                            @Value("${student.change-feed.poll-interval-ms:1000}") long pollIntervalMs,
+                            @Value("${student.change-feed.gap-grace-ms:5000}") long gapGraceMs) {
+        this.studentChangeRepository = studentChangeRepository;
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+        this.gapGrace = Duration.ofMillis(gapGraceMs);
+    }
+
+    /**
+     * Append the change in the publisher's transaction
+     */
+    @EventListener
+    public void append(StudentChangedEvent event) {
+        studentChangeRepository.save(new StudentChange(
+                event.getChangeType().name(), event.getStudentId(), toPayload(event.getStudent()), LocalDateTime.now()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitted(StudentChangedEvent event) {
+        commits.tryEmitNext(Boolean.TRUE);
+    }
+
+    /**
+     * Entries after {@code since} that are already in the log; completes at the end of the backlog
+     */
+    public Flux<StudentChange> read(long since) {
+        return readPages(since);
+    }
+
+    /**
+     * Entries after {@code since}, then new entries as they commit; never completes on its own
+     */
+    public Flux<StudentChange> follow(long since) {
+        long[] cursor = {since};
+        return Flux.merge(Flux.just(Boolean.TRUE), commits.asFlux(), Flux.interval(pollInterval).map(tick -> Boolean.TRUE))
+                // A burst of commits only needs one more read
+                .onBackpressureLatest()
+                .concatMap(wakeup -> readPages(cursor[0]), 1)
+                .doOnNext(change -> cursor[0] = change.getSeq());
+    }
+
+    private Flux<StudentChange> readPages(long since) {
+        return readPage(since)
+                .expand(page -> page.size() < pageSize
+                        ? Mono.empty()
+                        : readPage(page.get(page.size() - 1).getSeq()))
+                .flatMapIterable(page -> page);
+    }
+
+    private Mono<List<StudentChange>> readPage(long since) {
+        return Mono.fromCallable(() -> contiguous(since,
+                        studentChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(pageSize))))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * The entries up to the first gap that may still be filled by an uncommitted transaction, with a
+     * resync marker for each older gap skipped. A page cut short at a gap is smaller than the page
+     * size, which ends the current read.
+     */
+    private List<StudentChange> contiguous(long since, List<StudentChange> page) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime settled = now.minus(gapGrace);
+        List<StudentChange> result = new ArrayList<>(page.size());
+        long expected = since + 1;
+        for (StudentChange change : page) {
+            if (change.getSeq() != expected) {
+                if (change.getChangedAt().isAfter(settled)) {
+                    break;
+                }
+                result.add(StudentChange.resync(change.getSeq() - 1, now));
+            }
+            result.add(change);
+            expected = change.getSeq() + 1;
+        }
+        return result;
+    }
+
+    private String toPayload(Student student) {
+        if (student == null) {
+            return null;
+        }
+        try {
+            // Stored fields only; age is derived and would go stale in the log
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("id", student.getId());
+            payload.put("name", student.getName());
+            payload.put("email", student.getEmail());
+            payload.put("dob", student.getDob() != null ? student.getDob().toString() : null);
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize student " + student.getId(), e);
+        }
+    }
+}
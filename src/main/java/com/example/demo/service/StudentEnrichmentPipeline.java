@@ -0,0 +1,242 @@
+package com.example.demo.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.event.StudentChangedEvent;
+import com.example.demo.model.StudentEnrichment;
+import com.example.demo.repository.StudentEnrichmentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Background pipeline that enriches students with external API data after they are written.
+ * Student ids are queued once the write has committed; worker threads call the external APIs
+ * with retries and store the result in the student_enrichment table, so reads never wait on
+ * third-party hosts.
+ */
+@Service
+public class StudentEnrichmentPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentEnrichmentPipeline.class);
+
+    private final ExternalApiService externalApiService;
+    private final StudentEnrichmentRepository studentEnrichmentRepository;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final boolean virtualThreads;
+    private final int workerCount;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    private final BlockingQueue<EnrichmentTask> queue;
+    private final Set<Long> queuedIds = ConcurrentHashMap.newKeySet();
+    private final Timer lagTimer;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private ExecutorService workers;
+
+    public StudentEnrichmentPipeline(ExternalApiService externalApiService,
+                                     StudentEnrichmentRepository studentEnrichmentRepository,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${student.enrichment.enabled:true}") boolean enabled,
+                                     @Value("${student.enrichment.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${student.enrichment.workers:2}") int workerCount,
+                                     @Value("${student.enrichment.max-attempts:3}") int maxAttempts,
+                                     @Value("${student.enrichment.retry-backoff-ms:1000}") long retryBackoffMs,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.externalApiService = externalApiService;
+        this.studentEnrichmentRepository = studentEnrichmentRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.virtualThreads = virtualThreads;
+        this.workerCount = workerCount;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("student.enrichment.queue.depth", queue, BlockingQueue::size)
+                .description("Students waiting to be enriched")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("student.enrichment.lag")
+                .description("Time from a student write to its enrichment being stored")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.succeeded = Counter.builder("student.enrichment.completed")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failed = Counter.builder("student.enrichment.completed")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("student.enrichment.dropped")
+                .description("Enrichment requests dropped because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Student enrichment pipeline is disabled");
+            return;
+        }
+        running = true;
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("student-enrichment-", 0).factory()
+                : Thread.ofPlatform().name("student-enrichment-", 0).daemon(true).factory();
+        workers = Executors.newFixedThreadPool(workerCount, threadFactory);
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::drainQueue);
+        }
+        logger.info("Student enrichment pipeline started with {} workers", workerCount);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Queue enrichment once a student create or update has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getChangeType() != StudentChangedEvent.ChangeType.DELETED) {
+            enqueue(event.getStudentId());
+        }
+    }
+
+    /**
+     * Queue a student for enrichment; a student already waiting in the queue is not queued twice
+     *
+     * @return false if the pipeline is disabled or the queue is full
+     */
+    public boolean enqueue(Long studentId) {
+        if (!enabled || studentId == null) {
+            return false;
+        }
+        if (!queuedIds.add(studentId)) {
+            return true;
+        }
+        if (!queue.offer(new EnrichmentTask(studentId, System.nanoTime()))) {
+            queuedIds.remove(studentId);
+            dropped.increment();
+            logger.warn("Enrichment queue is full, dropping student {}", studentId);
+            return false;
+        }
+        return true;
+    }
+
+    private void drainQueue() {
+        while (running) {
+            try {
+                EnrichmentTask task = queue.take();
+                queuedIds.remove(task.studentId());
+                process(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Unexpected error in enrichment worker: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    @SuppressWarnings({"java:S2142", "java:S2273"}) // Sleep in loop is acceptable for retry logic
+    private void process(EnrichmentTask task) throws InterruptedException {
+        StudentEnrichment enrichment = studentEnrichmentRepository.findById(task.studentId())
+                .orElseGet(() -> new StudentEnrichment(task.studentId()));
+
+        String lastError = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            enrichment.setAttempts(attempt);
+            try {
+                Map<String, Object> profile = externalApiService.getJsonPlaceholderUser(task.studentId());
+                Map<String, Object> funFact = externalApiService.getRandomJoke();
+                if (isError(profile) || isError(funFact)) {
+                    lastError = String.valueOf(isError(profile) ? profile.get("message") : funFact.get("message"));
+                } else {
+                    enrichment.setExternalProfile(toJson(profile.get("data")));
+                    enrichment.setFunFact(toJson(funFact.get("data")));
+                    enrichment.setStatus(StudentEnrichment.STATUS_ENRICHED);
+                    enrichment.setLastError(null);
+                    enrichment.setEnrichedAt(LocalDateTime.now());
+                    save(enrichment);
+                    succeeded.increment();
+                    lagTimer.record(System.nanoTime() - task.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                lastError = e.getMessage();
+            }
+
+            logger.warn("Attempt {}/{} failed to enrich student {}: {}", attempt, maxAttempts, task.studentId(), lastError);
+            if (attempt < maxAttempts) {
+                long delay = Math.min(retryBackoffMs * (1L << (attempt - 1)), 30000L); // Cap at 30 seconds
+                Thread.sleep(delay);
+            }
+        }
+
+        enrichment.setStatus(StudentEnrichment.STATUS_FAILED);
+        enrichment.setLastError(lastError != null && lastError.length() > 1000 ? lastError.substring(0, 1000) : lastError);
+        save(enrichment);
+        failed.increment();
+        lagTimer.record(System.nanoTime() - task.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void save(StudentEnrichment enrichment) {
+        enrichment.setUpdatedAt(LocalDateTime.now());
+        try {
+            studentEnrichmentRepository.save(enrichment);
+        } catch (RuntimeException e) {
+            // Typically the student was deleted while its enrichment was in flight
+            logger.warn("Could not store enrichment for student {}: {}", enrichment.getStudentId(), e.getMessage());
+        }
+    }
+
+    private static boolean isError(Map<String, Object> response) {
+        return Boolean.TRUE.equals(response.get("error"));
+    }
+
+    private String toJson(Object data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize enrichment data", e);
+        }
+    }
+
+    private record EnrichmentTask(Long studentId, long enqueuedAtNanos) {
+    }
+}
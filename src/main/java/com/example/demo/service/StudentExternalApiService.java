@@ -1,13 +1,20 @@
 package com.example.demo.service;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.IntConsumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.example.demo.model.Student;
+import com.example.demo.model.StudentEnrichment;
+import com.example.demo.outbound.config.OutboundProperties;
+import com.example.demo.repository.StudentEnrichmentRepository;
 import com.example.demo.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Service to enrich student data with external API calls
@@ -21,45 +28,71 @@ public class StudentExternalApiService {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private StudentEnrichmentRepository studentEnrichmentRepository;
+
+    @Autowired
+    private StudentEnrichmentPipeline studentEnrichmentPipeline;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboundProperties outboundProperties;
+
     /**
-     * Get student data enriched with external API data
-     * This example fetches additional data from JSONPlaceholder API
+     * Get student data enriched with external API data.
+     * Enrichment is stored by StudentEnrichmentPipeline when the student is written, so this
+     * is a single join and never calls the external APIs itself.
      */
     public Map<String, Object> getEnrichedStudentData(Long studentId) {
         Map<String, Object> result = new HashMap<>();
         
-        // Get student from database
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalStateException("Student not found"));
+        // Get student and stored enrichment from database
+        List<Object[]> rows = studentEnrichmentRepository.findStudentWithEnrichment(studentId);
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("Student not found");
+        }
+        Student student = (Student) rows.get(0)[0];
+        StudentEnrichment enrichment = (StudentEnrichment) rows.get(0)[1];
         
         // Add student data
         result.put("student", student);
         
-        // Call external API to get additional data
-        // Using the student ID as external user ID (just for demonstration)
-        Map<String, Object> externalData = externalApiService.getJsonPlaceholderUser(studentId);
-        
-        // Add external data if successful
-        if (externalData.get("data") != null) {
-            result.put("externalProfile", externalData.get("data"));
+        if (enrichment == null) {
+            // Written before the pipeline existed or still queued; make sure it gets enriched
+            studentEnrichmentPipeline.enqueue(studentId);
+            result.put("enrichmentStatus", "PENDING");
+            return result;
         }
         
-        // Get a random fact about the student (using joke API as example)
-        Map<String, Object> randomFact = externalApiService.getRandomJoke();
-        if (randomFact.get("data") != null) {
-            result.put("funFact", randomFact.get("data"));
+        result.put("enrichmentStatus", enrichment.getStatus());
+        result.put("enrichedAt", enrichment.getEnrichedAt());
+        if (enrichment.getExternalProfile() != null) {
+            result.put("externalProfile", fromJson(enrichment.getExternalProfile()));
+        }
+        if (enrichment.getFunFact() != null) {
+            result.put("funFact", fromJson(enrichment.getFunFact()));
         }
         
         return result;
     }
 
+    private Object fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, Object.class);
+        } catch (JsonProcessingException e) {
+            return json;
+        }
+    }
+
     /**
      * Get university information for a student (mock example)
      * In a real scenario, this could call a university API
      */
     public Map<String, Object> getUniversityInfo(String universityName) {
         // This is a mock example - in reality, you would call a real university API
-        String url = "https://universities.hipolabs.com/search";
+        String url = outboundProperties.getUpstreams().getUniversitiesBaseUrl() + "/search";
         
         Map<String, String> queryParams = new HashMap<>();
         queryParams.put("name", universityName);
@@ -96,7 +129,7 @@ public class StudentExternalApiService {
      * This could be based on phone number, address, etc.
      */
     public Map<String, Object> getCountryInfo(String countryCode) {
-        String url = "https://restcountries.com/v3.1/alpha/" + countryCode;
+        String url = outboundProperties.getUpstreams().getRestCountriesBaseUrl() + "/v3.1/alpha/" + countryCode;
         return externalApiService.getFromExternalApi(url, null, null);
     }
 
@@ -106,7 +139,7 @@ public class StudentExternalApiService {
      */
     public Map<String, Object> getEducationalResources(String subject) {
         // Example using Open Library API
-        String url = "https://openlibrary.org/search.json";
+        String url = outboundProperties.getUpstreams().getOpenLibraryBaseUrl() + "/search.json";
         
         Map<String, String> queryParams = new HashMap<>();
         queryParams.put("q", subject);
@@ -136,11 +169,21 @@ public class StudentExternalApiService {
      * Batch enrich multiple students with external data
      */
     public Map<String, Object> batchEnrichStudents(int limit) {
+        return batchEnrichStudents(limit, percentDone -> { });
+    }
+
+    /**
+     * Batch enrich multiple students, reporting the percentage done after each student
+     */
+    public Map<String, Object> batchEnrichStudents(int limit, IntConsumer progress) {
         Map<String, Object> result = new HashMap<>();
         
         // Get students
-        var students = studentRepository.findAll().stream()
+        var selected = studentRepository.findAll().stream()
                 .limit(limit)
+                .toList();
+        int[] done = {0};
+        var students = selected.stream()
                 .map(student -> {
                     Map<String, Object> enrichedData = new HashMap<>();
                     enrichedData.put("id", student.getId());
@@ -159,6 +202,7 @@ public class StudentExternalApiService {
                         enrichedData.put("externalDataError", e.getMessage());
                     }
                     
+                    progress.accept(++done[0] * 100 / selected.size());
                     return enrichedData;
                 })
                 .toList();
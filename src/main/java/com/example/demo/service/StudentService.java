@@ -2,37 +2,74 @@ package com.example.demo.service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import com.example.demo.cache.StudentEntityCache;
+import com.example.demo.cache.StudentSearchCache;
+import com.example.demo.event.StudentChangedEvent;
 import com.example.demo.model.Student;
+import com.example.demo.model.StudentAge;
+import com.example.demo.model.StudentBatchRequest;
 import com.example.demo.repository.StudentRepository;
 
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Reads run in read-only transactions, which use the read connection pool and skip Hibernate's
+ * flush and dirty checking; write methods override this with their own {@code @Transactional}.
+ */
 @Service
+@Timed(value = "student.service", histogram = true)
+@Transactional(readOnly = true)
 public class StudentService {
+    private static final int ID_CHUNK_SIZE = 1000;
+    private static final List<String> PROJECTABLE_FIELDS = List.of("id", "name", "email", "dob", "age");
+
     private final StudentRepository studentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudentByIdBatchLoader studentByIdBatchLoader;
+    private final StudentAgeIndex studentAgeIndex;
+    private final StudentSearchCache studentSearchCache;
+    private final StudentEntityCache studentEntityCache;
 
     @Autowired
-    public StudentService(StudentRepository studentRepository) {
+    public StudentService(StudentRepository studentRepository, ApplicationEventPublisher eventPublisher,
+                          StudentByIdBatchLoader studentByIdBatchLoader, StudentAgeIndex studentAgeIndex,
+                          StudentSearchCache studentSearchCache, StudentEntityCache studentEntityCache) {
         this.studentRepository = studentRepository;
+        this.eventPublisher = eventPublisher;
+        this.studentByIdBatchLoader = studentByIdBatchLoader;
+        this.studentAgeIndex = studentAgeIndex;
+        this.studentSearchCache = studentSearchCache;
+        this.studentEntityCache = studentEntityCache;
     }
 
     public List<Student> getStudents() {
         return studentRepository.findAll();
     }
 
+    @Transactional
     public void addNewStudent(Student student) {
         Optional<Student> studentOptional = studentRepository
                 .findStudentByEmail(student.getEmail());
@@ -41,41 +78,174 @@ public class StudentService {
         }
         studentRepository.save(student);
         System.out.println(student);
+        eventPublisher.publishEvent(StudentChangedEvent.created(student));
     }
 
+    @Transactional
     public void deleteStudent(Long studentId) {
         boolean exists = studentRepository.existsById(studentId);
         if (!exists) {
             throw new IllegalStateException("student with id " + studentId + " does not exist");
         }
         studentRepository.deleteById(studentId);
+        eventPublisher.publishEvent(StudentChangedEvent.deleted(studentId));
     }
 
     public Optional<Student> getStudentById(Long studentId) {
-        return studentRepository.findById(studentId);
+        return studentByIdBatchLoader.load(studentId);
+    }
+
+    /**
+     * Students for the given ids from one IN query, in request order; unknown ids are skipped
+     */
+    public List<Student> getStudentsByIds(List<Long> studentIds) {
+        Map<Long, Student> found = new HashMap<>();
+        for (Student student : studentRepository.findAllById(new LinkedHashSet<>(studentIds))) {
+            found.put(student.getId(), student);
+        }
+        return studentIds.stream()
+            .distinct()
+            .map(found::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Run create, update and delete operations in one transaction with one result per operation.
+     * A validation failure (unknown id, taken email, missing field) fails only its own operation and
+     * leaves its student unchanged, unless the batch is atomic. Any other error rolls the whole batch
+     * back and skips the rest.
+     */
+    @Transactional
+    public Map<String, Object> executeBatch(StudentBatchRequest request) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        boolean rollback = false;
+
+        List<StudentBatchRequest.Operation> operations = request.getOperations();
+        for (int i = 0; i < operations.size(); i++) {
+            StudentBatchRequest.Operation operation = operations.get(i);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("index", i);
+            result.put("op", operation.getOp());
+            results.add(result);
+
+            if (rollback) {
+                result.put("status", 409);
+                result.put("message", "not executed, batch rolled back");
+                continue;
+            }
+
+            try {
+                String op = operation.getOp() != null ? operation.getOp().toLowerCase() : "";
+                switch (op) {
+                    case "create" -> {
+                        if (operation.getName() == null || operation.getEmail() == null || operation.getDob() == null) {
+                            throw new IllegalArgumentException("name, email and dob are required");
+                        }
+                        Student student = new Student(operation.getName(), operation.getEmail(), operation.getDob());
+                        addNewStudent(student);
+                        result.put("status", 201);
+                        result.put("id", student.getId());
+                    }
+                    case "update" -> {
+                        updateStudent(requireId(operation), operation.getName(), operation.getEmail());
+                        result.put("status", 200);
+                        result.put("id", operation.getId());
+                    }
+                    case "delete" -> {
+                        deleteStudent(requireId(operation));
+                        result.put("status", 200);
+                        result.put("id", operation.getId());
+                    }
+                    default -> throw new IllegalArgumentException("unknown op '" + operation.getOp() + "'");
+                }
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                boolean notFound = e.getMessage() != null && e.getMessage().contains("does not exist");
+                result.put("status", notFound ? 404 : 400);
+                result.put("message", e.getMessage());
+                rollback = request.isAtomic();
+            } catch (RuntimeException e) {
+                // The persistence context may be unusable after a database error
+                result.put("status", 500);
+                result.put("message", e.getMessage());
+                rollback = true;
+            }
+        }
+
+        if (rollback) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("committed", !rollback);
+        response.put("results", results);
+        return response;
+    }
+
+    private static Long requireId(StudentBatchRequest.Operation operation) {
+        if (operation.getId() == null) {
+            throw new IllegalArgumentException("id is required");
+        }
+        return operation.getId();
     }
 
     @Transactional
-    public void updateStudent(Long studentId, String name, String email) {
+    public Student updateStudent(Long studentId, String name, String email) {
+        return updateStudent(studentId, name, email, null);
+    }
+
+    /**
+     * Update name and email if the student is still at {@code expectedVersion} ({@code null} to skip the check).
+     * A concurrent update committing first fails the version check in the UPDATE statement instead;
+     * both cases throw {@link ObjectOptimisticLockingFailureException}.
+     *
+     * @return the student, with its new version once the transaction has committed
+     */
+    @Transactional
+    public Student updateStudent(Long studentId, String name, String email, Long expectedVersion) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new IllegalStateException(
                         "student with id " + studentId + " does not exist"));
 
-        if (name != null && !name.isEmpty() && !name.equals(student.getName())) {
-            student.setName(name);
+        if (expectedVersion != null && !expectedVersion.equals(student.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Student.class, studentId);
         }
 
-        if (email != null && !email.isEmpty() && !email.equals(student.getEmail())) {
-            Optional<Student> studentOptional = studentRepository.findStudentByEmail(email);
-            if (studentOptional.isPresent()) {
-                throw new IllegalStateException("email taken");
-            }
+        // Validate before changing anything: a failed update in a batch must leave the entity clean,
+        // or the next flush would still write it
+        boolean nameChanged = name != null && !name.isEmpty() && !name.equals(student.getName());
+        boolean emailChanged = email != null && !email.isEmpty() && !email.equals(student.getEmail());
+        if (emailChanged && studentRepository.findStudentByEmail(email).isPresent()) {
+            throw new IllegalStateException("email taken");
+        }
+
+        if (nameChanged) {
+            student.setName(name);
+        }
+        if (emailChanged) {
             student.setEmail(email);
         }
+
+        // A no-op update writes nothing, so it must not reach the change log or invalidate caches
+        if (nameChanged || emailChanged) {
+            eventPublisher.publishEvent(StudentChangedEvent.updated(student));
+        }
+        return student;
     }
 
     public List<Student> searchStudents(String name, String email, Integer minAge, Integer maxAge,
                                        int page, int size, String sortBy, String sortDirection) {
+        // Age filters depend on today's date, so those results are only reused within the day
+        String cacheKey = String.join("|", "search", normalize(name), normalize(email),
+            String.valueOf(minAge), String.valueOf(maxAge), String.valueOf(page), String.valueOf(size),
+            sortBy, sortDirection.toLowerCase(),
+            minAge != null || maxAge != null ? String.valueOf(StudentAge.today().toEpochDay()) : "");
+        long[] cachedIds = studentSearchCache.get(cacheKey);
+        if (cachedIds != null) {
+            return studentEntityCache.findAllById(cachedIds);
+        }
+        long generation = studentSearchCache.generation();
+
         Pageable pageable = PageRequest.of(page, size,
             Sort.by(Sort.Direction.fromString(sortDirection), sortBy));
 
@@ -92,6 +262,7 @@ public class StudentService {
                 .collect(Collectors.toList());
         }
 
+        studentSearchCache.put(cacheKey, generation, idsOf(students));
         return students;
     }
 
@@ -99,7 +270,10 @@ public class StudentService {
         if (minAge > maxAge) {
             throw new IllegalArgumentException("Minimum age cannot be greater than maximum age");
         }
-        
+
+        if (studentAgeIndex.isReady()) {
+            return findAllByIds(studentAgeIndex.idsWithAgeBetween(minAge, maxAge));
+        }
         return studentRepository.findAll().stream()
             .filter(student -> {
                 int age = student.getAge();
@@ -109,6 +283,10 @@ public class StudentService {
     }
 
     public Map<String, Object> getStudentStatistics() {
+        if (studentAgeIndex.isReady()) {
+            return getStudentStatisticsFromIndex();
+        }
+
         Map<String, Object> stats = new HashMap<>();
         
         long totalStudents = studentRepository.countAllStudents();
@@ -141,11 +319,153 @@ public class StudentService {
         return stats;
     }
 
+    /**
+     * Same figures as {@link #getStudentStatistics()}, from the age index instead of loading every student
+     */
+    private Map<String, Object> getStudentStatisticsFromIndex() {
+        long totalStudents = studentAgeIndex.size();
+        double averageAge = totalStudents > 0 ? (double) studentAgeIndex.totalAge() / totalStudents : 0.0;
+
+        long under20 = studentAgeIndex.countYoungerThan(20);
+        long twenties = studentAgeIndex.countWithAgeBetween(20, 29);
+        long thirties = studentAgeIndex.countWithAgeBetween(30, 39);
+        long fortyPlus = totalStudents - under20 - twenties - thirties;
+
+        // Only non-empty groups, as with the groupingBy version
+        Map<String, Long> ageGroups = new HashMap<>();
+        if (under20 > 0) ageGroups.put("Under 20", under20);
+        if (twenties > 0) ageGroups.put("20-29", twenties);
+        if (thirties > 0) ageGroups.put("30-39", thirties);
+        if (fortyPlus > 0) ageGroups.put("40+", fortyPlus);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalStudents", totalStudents);
+        stats.put("averageAge", Math.round(averageAge * 100.0) / 100.0);
+        stats.put("ageDistribution", ageGroups);
+        stats.put("generatedAt", LocalDateTime.now());
+        return stats;
+    }
+
+    /**
+     * Load students for ids from the age index, in id order, a chunk of IN-list ids at a time
+     */
+    private List<Student> findAllByIds(long[] ids) {
+        List<Student> students = new ArrayList<>(ids.length);
+        for (int from = 0; from < ids.length; from += ID_CHUNK_SIZE) {
+            int to = Math.min(ids.length, from + ID_CHUNK_SIZE);
+            List<Long> chunk = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                chunk.add(ids[i]);
+            }
+            students.addAll(studentRepository.findAllById(chunk));
+        }
+        students.sort(Comparator.comparing(Student::getId));
+        return students;
+    }
+
+    /**
+     * Parse a {@code fields=} parameter such as {@code id,name} into known field names, in order
+     */
+    public List<String> parseFields(String fields) {
+        List<String> parsed = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty() || parsed.contains(trimmed)) {
+                continue;
+            }
+            if (!PROJECTABLE_FIELDS.contains(trimmed)) {
+                throw new IllegalArgumentException("unknown field '" + trimmed + "', expected some of " + PROJECTABLE_FIELDS);
+            }
+            parsed.add(trimmed);
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one of " + PROJECTABLE_FIELDS);
+        }
+        return parsed;
+    }
+
+    /**
+     * {@link #getStudents()} with only the given fields, selected as columns rather than entities
+     */
+    public List<Map<String, Object>> getStudentFields(List<String> fields) {
+        return projectFields(fields, null, null, null, null, Pageable.unpaged());
+    }
+
+    /**
+     * {@link #searchStudents} with only the given fields, selected as columns rather than entities
+     */
+    public List<Map<String, Object>> searchStudentFields(List<String> fields, String name, String email,
+                                                         Integer minAge, Integer maxAge, int page, int size,
+                                                         String sortBy, String sortDirection) {
+        Pageable pageable = PageRequest.of(page, size,
+            Sort.by(Sort.Direction.fromString(sortDirection), sortBy));
+        return projectFields(fields, name, email, minAge, maxAge, pageable);
+    }
+
+    /**
+     * Age is not a column, so it is computed from dob, which is selected whenever age is requested or
+     * filtered on and dropped again if it was not asked for. As in {@link #searchStudents}, the age
+     * filter applies to the fetched page.
+     */
+    private List<Map<String, Object>> projectFields(List<String> fields, String name, String email,
+                                                    Integer minAge, Integer maxAge, Pageable pageable) {
+        boolean ageFiltered = minAge != null || maxAge != null;
+        List<String> columns = new ArrayList<>(fields);
+        columns.remove("age");
+        if ((fields.contains("age") || ageFiltered) && !columns.contains("dob")) {
+            columns.add("dob");
+        }
+
+        List<Map<String, Object>> rows = studentRepository.findColumns(columns, name, email, pageable);
+        if (!fields.contains("age") && !ageFiltered) {
+            return rows;
+        }
+
+        LocalDate today = StudentAge.today();
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            int age = StudentAge.yearsBetween((LocalDate) row.get("dob"), today);
+            if ((minAge != null && age < minAge) || (maxAge != null && age > maxAge)) {
+                continue;
+            }
+            Map<String, Object> projected = new LinkedHashMap<>();
+            for (String field : fields) {
+                projected.put(field, field.equals("age") ? age : row.get(field));
+            }
+            result.add(projected);
+        }
+        return result;
+    }
+
     public List<Student> searchByKeyword(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return Collections.emptyList();
         }
-        return studentRepository.findByKeyword(keyword.trim());
+        String cacheKey = "keyword|" + normalize(keyword.trim());
+        long[] cachedIds = studentSearchCache.get(cacheKey);
+        if (cachedIds != null) {
+            return studentEntityCache.findAllById(cachedIds);
+        }
+        long generation = studentSearchCache.generation();
+
+        List<Student> students = studentRepository.findByKeyword(keyword.trim());
+        studentSearchCache.put(cacheKey, generation, idsOf(students));
+        return students;
+    }
+
+    /**
+     * Search filters match case-insensitively, so parameters differing only in case share a cache entry
+     */
+    private static String normalize(String value) {
+        return value != null ? value.toLowerCase() : "";
+    }
+
+    private static long[] idsOf(List<Student> students) {
+        long[] ids = new long[students.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = students.get(i).getId();
+        }
+        return ids;
     }
 
     public List<Student> getStudentsByDateRange(LocalDate startDate, LocalDate endDate) {
@@ -167,12 +487,18 @@ public class StudentService {
     }
 
     public List<Student> getStudentsOlderThan(int age) {
+        if (studentAgeIndex.isReady()) {
+            return findAllByIds(studentAgeIndex.idsOlderThan(age));
+        }
         return studentRepository.findAll().stream()
             .filter(student -> student.getAge() > age)
             .collect(Collectors.toList());
     }
 
     public List<Student> getStudentsYoungerThan(int age) {
+        if (studentAgeIndex.isReady()) {
+            return findAllByIds(studentAgeIndex.idsYoungerThan(age));
+        }
         return studentRepository.findAll().stream()
             .filter(student -> student.getAge() < age)
             .collect(Collectors.toList());
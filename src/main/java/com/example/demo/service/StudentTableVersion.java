@@ -0,0 +1,41 @@
+package com.example.demo.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.event.StudentChangedEvent;
+
+/**
+ * Table-level change counter for the student table, advanced after every committed write.
+ * Lets callers tell whether any student may have changed without querying the table. The counter
+ * is in memory, so it is combined with a per-start epoch; writes made outside the application
+ * (for example the load-test dataset generator) are not seen until the next restart.
+ */
+@Component
+public class StudentTableVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong generation = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Opaque token that changes whenever the table may have changed. Take it before reading, so a
+     * write committed during the read produces a newer token rather than a stale match.
+     */
+    public String current() {
+        return epoch + "-" + generation.get();
+    }
+
+    /**
+     * The counter alone, for in-process caches that do not outlive this instance
+     */
+    public long generation() {
+        return generation.get();
+    }
+}
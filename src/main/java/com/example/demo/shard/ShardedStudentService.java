@@ -0,0 +1,264 @@
+package com.example.demo.shard;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.model.Student;
+import com.example.demo.model.StudentAge;
+
+/**
+ * Student operations over {@link StudentShards}. Single-student operations go to the shard owning
+ * the id; search, count and statistics run on all shards in parallel and merge the results.
+ *
+ * <p>Email uniqueness is enforced by the email directory on shard 0: an email is reserved there
+ * before the student row is written and released after it is removed, so a failure in between can
+ * leave an email reserved but never assigned twice.
+ */
+@Service
+@ConditionalOnProperty(name = "student.sharding.enabled", havingValue = "true")
+public class ShardedStudentService {
+
+    private static final String COLUMNS = "id, name, email, dob, version";
+    private static final Map<String, Comparator<Student>> SORTABLE = Map.of(
+            "id", Comparator.comparing(Student::getId),
+            "name", Comparator.comparing(Student::getName),
+            "email", Comparator.comparing(Student::getEmail),
+            "dob", Comparator.comparing(Student::getDob));
+
+    private static final RowMapper<Student> STUDENT_ROW_MAPPER = ShardedStudentService::mapStudent;
+
+    private final StudentShards shards;
+
+    public ShardedStudentService(StudentShards shards) {
+        this.shards = shards;
+    }
+
+    public Student addNewStudent(Student student) {
+        if (student.getName() == null || student.getEmail() == null || student.getDob() == null) {
+            throw new IllegalStateException("name, email and dob are required");
+        }
+        long studentId = shards.nextId();
+        int shard = shards.shardOf(studentId);
+        reserveEmail(student.getEmail(), shard);
+        try {
+            shards.shard(shard).update("INSERT INTO student (" + COLUMNS + ") VALUES (?, ?, ?, ?, 0)",
+                    studentId, student.getName(), student.getEmail(), Date.valueOf(student.getDob()));
+        } catch (RuntimeException e) {
+            releaseEmail(student.getEmail());
+            throw e;
+        }
+        Student created = new Student(studentId, student.getName(), student.getEmail(), student.getDob());
+        created.setVersion(0L);
+        return created;
+    }
+
+    public Optional<Student> getStudentById(Long studentId) {
+        return shards.shardFor(studentId)
+                .query("SELECT " + COLUMNS + " FROM student WHERE id = ?", STUDENT_ROW_MAPPER, studentId)
+                .stream()
+                .findFirst();
+    }
+
+    public Student updateStudent(Long studentId, String name, String email) {
+        Student student = getStudentById(studentId)
+                .orElseThrow(() -> new IllegalStateException("student with id " + studentId + " does not exist"));
+        String newName = name != null && !name.isEmpty() ? name : student.getName();
+        boolean emailChanged = email != null && !email.isEmpty() && !email.equals(student.getEmail());
+        String newEmail = emailChanged ? email : student.getEmail();
+
+        if (emailChanged) {
+            reserveEmail(newEmail, shards.shardOf(studentId));
+        }
+        int updated = shards.shardFor(studentId).update(
+                "UPDATE student SET name = ?, email = ?, version = version + 1 WHERE id = ? AND version = ?",
+                newName, newEmail, studentId, student.getVersion());
+        if (updated == 0) {
+            if (emailChanged) {
+                releaseEmail(newEmail);
+            }
+            throw new ObjectOptimisticLockingFailureException(Student.class, studentId);
+        }
+        if (emailChanged) {
+            releaseEmail(student.getEmail());
+        }
+
+        Student result = new Student(studentId, newName, newEmail, student.getDob());
+        result.setVersion(student.getVersion() + 1);
+        return result;
+    }
+
+    public void deleteStudent(Long studentId) {
+        Student student = getStudentById(studentId)
+                .orElseThrow(() -> new IllegalStateException("student with id " + studentId + " does not exist"));
+        shards.shardFor(studentId).update("DELETE FROM student WHERE id = ?", studentId);
+        releaseEmail(student.getEmail());
+    }
+
+    /**
+     * Page of students matching the filters across all shards. Each shard returns its first
+     * {@code (page + 1) * size} matches in sort order; the sorted lists are merged and the page is cut
+     * from the merged order, so deep pages cost more. Unlike the single-database search, age filters
+     * are applied in SQL before paging.
+     */
+    public List<Student> searchStudents(String name, String email, Integer minAge, Integer maxAge,
+                                        int page, int size, String sortBy, String sortDirection) {
+        Comparator<Student> byColumn = SORTABLE.get(sortBy);
+        if (byColumn == null) {
+            throw new IllegalArgumentException("sortBy must be one of " + SORTABLE.keySet());
+        }
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("page must not be negative and size must be positive");
+        }
+        boolean descending = "desc".equalsIgnoreCase(sortDirection);
+        String direction = descending ? "DESC" : "ASC";
+        Comparator<Student> order = byColumn.thenComparing(Student::getId);
+        if (descending) {
+            order = order.reversed();
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM student WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (name != null) {
+            sql.append(" AND LOWER(name) LIKE ?");
+            args.add("%" + name.toLowerCase() + "%");
+        }
+        if (email != null) {
+            sql.append(" AND LOWER(email) LIKE ?");
+            args.add("%" + email.toLowerCase() + "%");
+        }
+        LocalDate today = StudentAge.today();
+        if (minAge != null) {
+            sql.append(" AND dob <= ?");
+            args.add(Date.valueOf(StudentAge.latestDobForAge(minAge, today)));
+        }
+        if (maxAge != null) {
+            sql.append(" AND dob >= ?");
+            args.add(Date.valueOf(StudentAge.earliestDobForAge(maxAge, today)));
+        }
+        sql.append(" ORDER BY ").append(sortBy).append(' ').append(direction)
+                .append(", id ").append(direction).append(" LIMIT ?");
+        args.add((long) (page + 1) * size);
+
+        String query = sql.toString();
+        Object[] queryArgs = args.toArray();
+        List<List<Student>> perShard = shards.scatter(shard -> shard.query(query, STUDENT_ROW_MAPPER, queryArgs));
+        return mergePage(perShard, order, (long) page * size, size);
+    }
+
+    public long getStudentCount() {
+        return shards.scatter(shard -> shard.queryForObject("SELECT COUNT(*) FROM student", Long.class))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    /**
+     * Same shape as the single-database statistics. Each shard returns a count per date of birth,
+     * which is far fewer rows than students, and ages are computed from the merged counts.
+     */
+    public Map<String, Object> getStudentStatistics() {
+        Map<LocalDate, Long> countsByDob = new HashMap<>();
+        for (List<Object[]> rows : shards.scatter(this::countsByDob)) {
+            for (Object[] row : rows) {
+                countsByDob.merge((LocalDate) row[0], (Long) row[1], Long::sum);
+            }
+        }
+
+        LocalDate today = StudentAge.today();
+        long totalStudents = 0;
+        long ageSum = 0;
+        Map<String, Long> ageGroups = new HashMap<>();
+        for (Map.Entry<LocalDate, Long> entry : countsByDob.entrySet()) {
+            int age = StudentAge.yearsBetween(entry.getKey(), today);
+            long count = entry.getValue();
+            totalStudents += count;
+            ageSum += age * count;
+            String group;
+            if (age < 20) group = "Under 20";
+            else if (age < 30) group = "20-29";
+            else if (age < 40) group = "30-39";
+            else group = "40+";
+            ageGroups.merge(group, count, Long::sum);
+        }
+        double averageAge = totalStudents > 0 ? (double) ageSum / totalStudents : 0.0;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalStudents", totalStudents);
+        stats.put("averageAge", Math.round(averageAge * 100.0) / 100.0);
+        stats.put("ageDistribution", ageGroups);
+        stats.put("generatedAt", LocalDateTime.now());
+        stats.put("shards", shards.size());
+        return stats;
+    }
+
+    private List<Object[]> countsByDob(JdbcTemplate shard) {
+        return shard.query("SELECT dob, COUNT(*) FROM student GROUP BY dob",
+                (rs, rowNum) -> new Object[] {rs.getDate(1).toLocalDate(), rs.getLong(2)});
+    }
+
+    /**
+     * k-way merge of per-shard lists, each already sorted by {@code order}, keeping only the page
+     */
+    private static List<Student> mergePage(List<List<Student>> perShard, Comparator<Student> order, long skip, int size) {
+        record Cursor(List<Student> rows, int position) {
+            Student current() {
+                return rows.get(position);
+            }
+        }
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparing(Cursor::current, order));
+        for (List<Student> rows : perShard) {
+            if (!rows.isEmpty()) {
+                heads.add(new Cursor(rows, 0));
+            }
+        }
+
+        List<Student> result = new ArrayList<>(size);
+        long seen = 0;
+        while (!heads.isEmpty() && result.size() < size) {
+            Cursor head = heads.poll();
+            if (seen++ >= skip) {
+                result.add(head.current());
+            }
+            if (head.position() + 1 < head.rows().size()) {
+                heads.add(new Cursor(head.rows(), head.position() + 1));
+            }
+        }
+        return result;
+    }
+
+    private void reserveEmail(String email, int shard) {
+        try {
+            shards.directory().update("INSERT INTO email_directory (email, shard) VALUES (?, ?)", email, shard);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalStateException("email taken");
+        }
+    }
+
+    private void releaseEmail(String email) {
+        shards.directory().update("DELETE FROM email_directory WHERE email = ?", email);
+    }
+
+    private static Student mapStudent(ResultSet rs, int rowNum) throws SQLException {
+        Student student = new Student(rs.getLong("id"), rs.getString("name"), rs.getString("email"),
+                rs.getDate("dob").toLocalDate());
+        student.setVersion(rs.getLong("version"));
+        return student;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.demo.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.shard.config.ShardProperties;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * The shard databases: one connection pool and {@link JdbcTemplate} per shard, id-hash routing,
+ * global id allocation and parallel fan-out. Each shard's schema is migrated from
+ * {@code db/shard} at startup. Shard 0 doubles as the directory shard holding the email directory
+ * and the id sequence.
+ */
+@Component
+@ConditionalOnProperty(name = "student.sharding.enabled", havingValue = "true")
+public class StudentShards implements DisposableBean {
+
+    // Must match the INCREMENT BY of student_id_sequence
+    private static final int ID_BLOCK_SIZE = 100;
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Held while a new block is fetched; a monitor would pin a virtual thread's carrier during the query
+    private final ReentrantLock idLock = new ReentrantLock();
+    private long nextId;
+    private long idLimit;
+
+    public StudentShards(ShardProperties shardProperties) {
+        if (shardProperties.getUrls().isEmpty()) {
+            throw new IllegalStateException("student.sharding.urls must list at least one shard");
+        }
+        for (int i = 0; i < shardProperties.getUrls().size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + i);
+            dataSource.setJdbcUrl(shardProperties.getUrls().get(i));
+            dataSource.setUsername(shardProperties.getUsername());
+            dataSource.setPassword(shardProperties.getPassword());
+            dataSource.setMaximumPoolSize(shardProperties.getMaxPoolSize());
+            dataSources.add(dataSource);
+
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/shard")
+                    .load()
+                    .migrate();
+            shards.add(new JdbcTemplate(dataSource));
+        }
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    /**
+     * Shard holding the student with this id. Ids are sequential, so they are mixed before taking
+     * the modulus to spread consecutive ids across shards.
+     */
+    public int shardOf(long studentId) {
+        return Math.floorMod(Long.hashCode(studentId * 0x9E3779B97F4A7C15L), shards.size());
+    }
+
+    public JdbcTemplate shard(int index) {
+        return shards.get(index);
+    }
+
+    public JdbcTemplate shardFor(long studentId) {
+        return shards.get(shardOf(studentId));
+    }
+
+    public JdbcTemplate directory() {
+        return shards.get(0);
+    }
+
+    /**
+     * Next globally unique student id. Ids are taken from the directory shard's sequence a block
+     * at a time, so most calls need no query; ids are unique but not strictly in creation order.
+     */
+    public long nextId() {
+        idLock.lock();
+        try {
+            if (nextId >= idLimit) {
+                Long blockStart = directory().queryForObject("SELECT NEXT VALUE FOR student_id_sequence", Long.class);
+                nextId = blockStart;
+                idLimit = blockStart + ID_BLOCK_SIZE;
+            }
+            return nextId++;
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    /**
+     * Run the query on every shard in parallel and return the results in shard order
+     */
+    public <T> List<T> scatter(Function<JdbcTemplate, T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (JdbcTemplate shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), executor));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.shard.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sharded Student Storage Configuration Properties
+ * Shard databases for the sharded student API; disabled unless {@code student.sharding.enabled=true}
+ */
+@Configuration
+@ConfigurationProperties(prefix = "student.sharding")
+public class ShardProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * JDBC URL of each shard, in shard order. Students are placed by id hash over this list,
+     * so it must not be reordered or resized once data has been written.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    private String username = "sa";
+    private String password = "";
+
+    /**
+     * Connections per shard pool
+     */
+    private int maxPoolSize = 5;
+
+    // Getters and Setters
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+}
@@ -0,0 +1,15 @@
+-- V4__Create_student_enrichment_table.sql
+-- External profile data, written asynchronously after student creates and updates
+
+CREATE TABLE student_enrichment (
+                         student_id BIGINT NOT NULL PRIMARY KEY,
+                         external_profile CLOB,
+                         fun_fact CLOB,
+                         status VARCHAR(20) NOT NULL,
+                         attempts INT NOT NULL DEFAULT 0,
+                         last_error VARCHAR(1000),
+                         enriched_at TIMESTAMP,
+                         updated_at TIMESTAMP NOT NULL,
+                         CONSTRAINT fk_student_enrichment_student
+                             FOREIGN KEY (student_id) REFERENCES student(id) ON DELETE CASCADE
+);
@@ -0,0 +1,10 @@
+-- V5__Create_student_change_log_table.sql
+-- Append-only log of student creates, updates and deletes, followed by the change feed
+
+CREATE TABLE student_change_log (
+                         seq BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                         change_type VARCHAR(10) NOT NULL,
+                         student_id BIGINT NOT NULL,
+                         payload CLOB,
+                         changed_at TIMESTAMP NOT NULL
+);
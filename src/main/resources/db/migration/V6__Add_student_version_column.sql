@@ -0,0 +1,4 @@
+-- V6__Add_student_version_column.sql
+-- Optimistic-locking version, incremented on every update; backs ETags and If-Match
+
+ALTER TABLE student ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
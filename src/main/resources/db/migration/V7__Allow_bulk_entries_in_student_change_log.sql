@@ -0,0 +1,4 @@
+-- V7__Allow_bulk_entries_in_student_change_log.sql
+-- BULK entries, written after a CSV import, are not about a single student
+
+ALTER TABLE student_change_log ALTER COLUMN student_id SET NULL;
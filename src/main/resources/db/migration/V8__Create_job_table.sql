@@ -0,0 +1,19 @@
+-- V8__Create_job_table.sql
+-- Long-running operations run in the background; clients poll or stream a job's status by id
+
+CREATE TABLE job (
+                         id VARCHAR(36) NOT NULL PRIMARY KEY,
+                         type VARCHAR(30) NOT NULL,
+                         status VARCHAR(10) NOT NULL,
+                         progress INT DEFAULT 0 NOT NULL,
+                         submitted_by VARCHAR(100) NOT NULL,
+                         result CLOB,
+                         result_file VARCHAR(500),
+                         error VARCHAR(1000),
+                         created_at TIMESTAMP NOT NULL,
+                         started_at TIMESTAMP,
+                         finished_at TIMESTAMP
+);
+
+CREATE INDEX idx_job_status ON job(status);
+CREATE INDEX idx_job_finished_at ON job(finished_at);
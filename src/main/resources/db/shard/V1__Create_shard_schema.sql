@@ -0,0 +1,23 @@
+-- V1__Create_shard_schema.sql
+-- Schema of each student shard. Ids are assigned by the application, not per shard.
+
+CREATE TABLE student (
+                         id BIGINT NOT NULL PRIMARY KEY,
+                         name VARCHAR(255) NOT NULL,
+                         email VARCHAR(255) NOT NULL,
+                         dob DATE NOT NULL,
+                         version BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE INDEX idx_student_name ON student(name);
+CREATE INDEX idx_student_email ON student(email);
+CREATE INDEX idx_student_dob ON student(dob);
+
+-- Only used on shard 0, the directory shard: which shard holds each email, making emails unique
+-- across shards, and the global id sequence. Its increment is the id block size in StudentShards.
+CREATE TABLE email_directory (
+                         email VARCHAR(255) NOT NULL PRIMARY KEY,
+                         shard INT NOT NULL
+);
+
+CREATE SEQUENCE student_id_sequence START WITH 1 INCREMENT BY 100;
@@ -0,0 +1,75 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.demo.model.Student;
+import com.example.demo.repository.ReactiveStudentRepository;
+import com.example.demo.repository.StudentRepository;
+
+/**
+ * Starts the application with the prod properties, against a fresh database file so Flyway and
+ * schema validation run for real. The JDBC and R2DBC URLs are the prod ones with only the data
+ * directory moved under {@code target}; the rest of the prod configuration is used as is.
+ */
+@SpringBootTest(properties = "logging.file.name=")
+@ActiveProfiles("prod")
+class ProdProfileContextTests {
+
+    // Relative, like the prod ./data directory, so the URLs keep their prod form
+    private static final String dataDirectory = createDataDirectory();
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ReactiveStudentRepository reactiveStudentRepository;
+
+    private static String createDataDirectory() {
+        try {
+            Path directory = Files.createTempDirectory(Files.createDirectories(Path.of("target")), "prod-profile-test");
+            return "./" + directory.toString().replace('\\', '/') + "/";
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) throws IOException {
+        Properties prod = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application-prod.properties"));
+        for (String url : new String[] {"spring.datasource.url", "reactive.r2dbc.url"}) {
+            String relocated = prod.getProperty(url).replace("./data/", dataDirectory);
+            registry.add(url, () -> relocated);
+        }
+    }
+
+    @Test
+    void contextLoads() {
+    }
+
+    @Test
+    void reactiveReadsSeeTheSameDatabaseAsJpa() {
+        Student saved = studentRepository.save(
+                new Student("Prod Profile", "prod.profile@example.com", LocalDate.of(2000, 1, 1)));
+
+        Student read = reactiveStudentRepository.findById(saved.getId()).block();
+
+        assertEquals("prod.profile@example.com", read.getEmail());
+        assertEquals(studentRepository.count(), reactiveStudentRepository.count().block());
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.demo.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.demo.event.StudentChangedEvent;
+import com.example.demo.service.StudentTableVersion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+class ResponseCacheFilterTests {
+
+    private static final String STATISTICS = "/api/v1/student/statistics";
+    private static final byte[] BODY = "{\"total\":3,\"averageAge\":21.0}".repeat(20).getBytes(StandardCharsets.UTF_8);
+
+    private final StudentTableVersion tableVersion = new StudentTableVersion();
+    private final AtomicInteger handled = new AtomicInteger();
+    private ResponseCacheFilter filter = new ResponseCacheFilter(tableVersion, new SimpleMeterRegistry(), true, 256, 1 << 20);
+    private Runnable duringRequest = () -> { };
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatedRequestsAreServedFromTheCache() throws Exception {
+        MockHttpServletResponse first = get(STATISTICS, null, null);
+        MockHttpServletResponse second = get(STATISTICS, null, null);
+
+        assertEquals(1, handled.get());
+        assertArrayEquals(BODY, second.getContentAsByteArray());
+        assertEquals(first.getContentType(), second.getContentType());
+        assertEquals("Accept, Accept-Encoding", second.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    void keyIncludesQueryAcceptAndRoles() throws Exception {
+        get("/api/v1/student", null, null);
+        get("/api/v1/student?fields=id,name", null, null);
+        get("/api/v1/student", "application/json", null);
+        // Accept is compared after trimming and lower-casing
+        get("/api/v1/student", "  Application/JSON ", null);
+        assertEquals(3, handled.get());
+
+        authenticate("ROLE_USER");
+        get("/api/v1/student", null, null);
+        authenticate("ROLE_USER", "ROLE_ADMIN");
+        get("/api/v1/student", null, null);
+        authenticate("ROLE_ADMIN", "ROLE_USER");
+        get("/api/v1/student", null, null);
+        assertEquals(5, handled.get());
+    }
+
+    @Test
+    void encodingFollowsAcceptEncoding() throws Exception {
+        get(STATISTICS, null, null);
+
+        MockHttpServletResponse gzip = get(STATISTICS, null, "deflate, gzip");
+        assertEquals("gzip", gzip.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(BODY, new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray())).readAllBytes());
+
+        for (String acceptEncoding : List.of("deflate", "gzip;q=0, deflate", "br, deflate;q=0.5")) {
+            MockHttpServletResponse deflate = get(STATISTICS, null, acceptEncoding);
+            assertEquals("deflate", deflate.getHeader(HttpHeaders.CONTENT_ENCODING), acceptEncoding);
+            assertArrayEquals(BODY, inflate(deflate.getContentAsByteArray()), acceptEncoding);
+        }
+
+        for (String acceptEncoding : List.of("br", "gzip;q=0.0, deflate;q=0", "identity")) {
+            MockHttpServletResponse identity = get(STATISTICS, null, acceptEncoding);
+            assertNull(identity.getHeader(HttpHeaders.CONTENT_ENCODING), acceptEncoding);
+            assertArrayEquals(BODY, identity.getContentAsByteArray(), acceptEncoding);
+        }
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    void bodiesOverTheCapAreServedButNotCached() throws Exception {
+        filter = new ResponseCacheFilter(tableVersion, new SimpleMeterRegistry(), true, 256, BODY.length - 1);
+
+        MockHttpServletResponse first = get(STATISTICS, null, "gzip");
+        get(STATISTICS, null, null);
+
+        assertEquals(2, handled.get());
+        assertArrayEquals(BODY, first.getContentAsByteArray());
+        assertNull(first.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void aCommittedWriteInvalidatesTheCache() throws Exception {
+        get(STATISTICS, null, null);
+        committedWrite();
+        get(STATISTICS, null, null);
+        get(STATISTICS, null, null);
+
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void aResponseBuiltWhileAWriteCommitsIsNotReused() throws Exception {
+        duringRequest = this::committedWrite;
+        get(STATISTICS, null, null);
+        duringRequest = () -> { };
+
+        get(STATISTICS, null, null);
+        get(STATISTICS, null, null);
+
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void onlyUnfilteredGetsOnCachedPathsAreCached() throws Exception {
+        get("/api/v1/student?name=ann", null, null);
+        get("/api/v1/student?name=ann", null, null);
+        get("/api/v1/student/1", null, null);
+        get("/api/v1/student/1", null, null);
+        assertEquals(4, handled.get());
+
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", STATISTICS);
+        filter.doFilter(post, new MockHttpServletResponse(), chain());
+        filter.doFilter(post, new MockHttpServletResponse(), chain());
+        assertEquals(6, handled.get());
+    }
+
+    private void committedWrite() {
+        StudentChangedEvent event = StudentChangedEvent.deleted(1L);
+        tableVersion.onStudentChanged(event);
+        filter.onStudentChanged(event);
+    }
+
+    private MockHttpServletResponse get(String uri, String accept, String acceptEncoding)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri.split("\\?")[0]);
+        if (uri.contains("?")) {
+            String query = uri.substring(uri.indexOf('?') + 1);
+            request.setQueryString(query);
+            String[] parameter = query.split("=", 2);
+            request.addParameter(parameter[0], parameter[1]);
+        }
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain());
+        return response;
+    }
+
+    private FilterChain chain() {
+        return (request, response) -> {
+            handled.incrementAndGet();
+            duringRequest.run();
+            response.setContentType("application/json");
+            response.getOutputStream().write(BODY);
+        };
+    }
+
+    private static void authenticate(String... roles) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("user", null,
+                Arrays.stream(roles).map(SimpleGrantedAuthority::new).toList()));
+    }
+
+    private static byte[] inflate(byte[] deflated) throws IOException {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(deflated))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.event.StudentChangedEvent;
+import com.example.demo.model.Student;
+import com.example.demo.repository.StudentRepository;
+
+class StudentEntityCacheTests {
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final StudentEntityCache cache = new StudentEntityCache(studentRepository, 3);
+    // The table, and every id the cache had to query for
+    private final Map<Long, Student> table = new HashMap<>();
+    private final List<Long> loaded = new ArrayList<>();
+    private Runnable duringLoad = () -> { };
+
+    @BeforeEach
+    void table() {
+        for (long id = 1; id <= 5; id++) {
+            table.put(id, student(id, "Student " + id));
+        }
+        when(studentRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Student> found = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                loaded.add(id);
+                if (table.containsKey(id)) {
+                    found.add(table.get(id));
+                }
+            }
+            duringLoad.run();
+            return found;
+        });
+    }
+
+    @Test
+    void cachedStudentsAreNotQueriedAgain() {
+        cache.findAllById(new long[] {1, 2});
+        loaded.clear();
+
+        List<Student> students = cache.findAllById(new long[] {2, 3, 1});
+
+        assertEquals(List.of(2L, 3L, 1L), ids(students));
+        assertEquals(List.of(3L), loaded);
+    }
+
+    @Test
+    void unknownIdsAreSkippedAndCopiesAreDetached() {
+        List<Student> students = cache.findAllById(new long[] {4, 99, 1});
+
+        assertEquals(List.of(4L, 1L), ids(students));
+        assertNotSame(table.get(4L), students.get(0));
+        assertEquals("Student 4", students.get(0).getName());
+    }
+
+    @Test
+    void aWriteEvictsThatStudent() {
+        cache.findAllById(new long[] {1, 2});
+        table.put(1L, student(1, "Renamed"));
+        cache.onStudentChanged(StudentChangedEvent.updated(table.get(1L)));
+        loaded.clear();
+
+        List<Student> students = cache.findAllById(new long[] {1, 2});
+
+        assertEquals("Renamed", students.get(0).getName());
+        assertEquals(List.of(1L), loaded);
+    }
+
+    @Test
+    void aBulkWriteClearsTheCache() {
+        cache.findAllById(new long[] {1, 2});
+        cache.onStudentChanged(StudentChangedEvent.bulk());
+        loaded.clear();
+
+        cache.findAllById(new long[] {1, 2});
+
+        assertEquals(List.of(1L, 2L), loaded);
+    }
+
+    @Test
+    void aLoadOverlappingAWriteIsReturnedButNotCached() {
+        // The write commits after the query read the old row
+        duringLoad = () -> {
+            table.put(1L, student(1, "Renamed"));
+            cache.onStudentChanged(StudentChangedEvent.updated(table.get(1L)));
+        };
+        assertEquals("Student 1", cache.findAllById(new long[] {1}).get(0).getName());
+        duringLoad = () -> { };
+        loaded.clear();
+
+        assertEquals("Renamed", cache.findAllById(new long[] {1}).get(0).getName());
+        assertEquals(List.of(1L), loaded);
+    }
+
+    @Test
+    void leastRecentlyUsedStudentIsDroppedPastMaxEntries() {
+        cache.findAllById(new long[] {1, 2, 3});
+        cache.findAllById(new long[] {1});
+        cache.findAllById(new long[] {4});
+        loaded.clear();
+
+        cache.findAllById(new long[] {1, 2, 3, 4});
+
+        assertEquals(List.of(2L), loaded);
+    }
+
+    private static Student student(long id, String name) {
+        return new Student(id, name, "student" + id + "@example.com", LocalDate.of(2000, 1, 1));
+    }
+
+    private static List<Long> ids(List<Student> students) {
+        return students.stream().map(Student::getId).toList();
+    }
+}
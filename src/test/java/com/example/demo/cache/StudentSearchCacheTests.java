@@ -0,0 +1,69 @@
+package com.example.demo.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.event.StudentChangedEvent;
+import com.example.demo.service.StudentTableVersion;
+
+class StudentSearchCacheTests {
+
+    private final StudentTableVersion tableVersion = new StudentTableVersion();
+    private final StudentSearchCache cache = new StudentSearchCache(tableVersion, true, 2, 3);
+
+    @Test
+    void entriesAreServedUntilTheNextWrite() {
+        cache.put("a", cache.generation(), new long[] {1, 2});
+        assertArrayEquals(new long[] {1, 2}, cache.get("a"));
+
+        committedWrite();
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void aFillOverlappingAWriteIsNeverServed() {
+        // The query started before the write committed, so its ids may be missing the write
+        long generation = cache.generation();
+        committedWrite();
+        cache.put("a", generation, new long[] {1});
+
+        assertNull(cache.get("a"));
+
+        cache.put("a", cache.generation(), new long[] {1, 3});
+        assertArrayEquals(new long[] {1, 3}, cache.get("a"));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsDroppedPastMaxEntries() {
+        cache.put("a", cache.generation(), new long[] {1});
+        cache.put("b", cache.generation(), new long[] {2});
+        cache.get("a");
+        cache.put("c", cache.generation(), new long[] {3});
+
+        assertArrayEquals(new long[] {1}, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertArrayEquals(new long[] {3}, cache.get("c"));
+    }
+
+    @Test
+    void resultsOverMaxIdsPerEntryAreNotCached() {
+        cache.put("a", cache.generation(), new long[] {1, 2, 3, 4});
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        StudentSearchCache disabled = new StudentSearchCache(tableVersion, false, 2, 3);
+        disabled.put("a", disabled.generation(), new long[] {1});
+
+        assertNull(disabled.get("a"));
+    }
+
+    private void committedWrite() {
+        tableVersion.onStudentChanged(StudentChangedEvent.deleted(9L));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.demo.model.Student;
+import com.example.demo.service.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "jwt.enable-centralized-service=false")
+@AutoConfigureMockMvc
+class StudentControllerTests {
+
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Student student;
+
+    @BeforeEach
+    void createStudent() {
+        student = new Student("ETag Student", "etag-" + System.nanoTime() + "@controller.example",
+                LocalDate.of(2000, 1, 1));
+        studentService.addNewStudent(student);
+    }
+
+    @Test
+    void eachEncodingHasItsOwnStrongETag() throws Exception {
+        String json = getStudent("application/json").getResponse().getHeader(HttpHeaders.ETAG);
+        String cbor = getStudent("application/cbor").getResponse().getHeader(HttpHeaders.ETAG);
+        String smile = getStudent(SMILE).getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertEquals("\"0-" + student.getAge() + "-json\"", json);
+        assertEquals("\"0-" + student.getAge() + "-cbor\"", cbor);
+        assertNotEquals(json, smile);
+        assertNotEquals(cbor, smile);
+    }
+
+    @Test
+    void etagFollowsTheNegotiatedEncoding() throws Exception {
+        for (String accept : new String[] {null, "*/*", "application/*", "application/cbor;q=0.5, application/json"}) {
+            MvcResult result = getStudent(accept);
+            assertEquals(MediaType.APPLICATION_JSON_VALUE, result.getResponse().getContentType(), accept);
+            assertEquals("\"0-" + student.getAge() + "-json\"", result.getResponse().getHeader(HttpHeaders.ETAG), accept);
+        }
+        MvcResult cbor = getStudent("application/json;q=0.5, application/cbor");
+        assertEquals("application/cbor", cbor.getResponse().getContentType());
+        assertEquals("\"0-" + student.getAge() + "-cbor\"", cbor.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void notModifiedOnlyForTheSameEncoding() throws Exception {
+        String json = getStudent("application/json").getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult sameEncoding = mockMvc.perform(studentRequest("application/json")
+                .header(HttpHeaders.IF_NONE_MATCH, json)).andReturn();
+        MvcResult otherEncoding = mockMvc.perform(studentRequest("application/cbor")
+                .header(HttpHeaders.IF_NONE_MATCH, json)).andReturn();
+
+        assertEquals(304, sameEncoding.getResponse().getStatus());
+        assertEquals(200, otherEncoding.getResponse().getStatus());
+    }
+
+    @Test
+    void ifMatchAcceptsATagOfAnyEncoding() throws Exception {
+        String cbor = getStudent("application/cbor").getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult updated = mockMvc.perform(put("/api/v1/student/" + student.getId())
+                .param("name", "ETag Student Renamed")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("admin", "admin123"))
+                .header(HttpHeaders.IF_MATCH, cbor)).andReturn();
+        MvcResult stale = mockMvc.perform(put("/api/v1/student/" + student.getId())
+                .param("name", "ETag Student Again")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("admin", "admin123"))
+                .header(HttpHeaders.IF_MATCH, cbor)).andReturn();
+
+        assertEquals(200, updated.getResponse().getStatus());
+        assertEquals(412, stale.getResponse().getStatus());
+    }
+
+    private MvcResult getStudent(String accept) throws Exception {
+        return mockMvc.perform(studentRequest(accept)).andReturn();
+    }
+
+    private MockHttpServletRequestBuilder studentRequest(String accept) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/v1/student/" + student.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("user", "password"));
+        return accept != null ? request.header(HttpHeaders.ACCEPT, accept) : request;
+    }
+
+    private String token(String username, String password) throws Exception {
+        MvcResult login = mockMvc.perform(post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}")).andReturn();
+        return objectMapper.readTree(login.getResponse().getContentAsString()).get("token").asText();
+    }
+}
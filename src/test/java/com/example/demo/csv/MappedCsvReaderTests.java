@@ -0,0 +1,152 @@
+package com.example.demo.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedCsvReaderTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        Path file = write("\"Doe, Jane\",\"say \"\"hi\"\"\",\"two\nlines\",plain\n");
+
+        try (MappedCsvReader reader = new MappedCsvReader(file, 1024)) {
+            assertTrue(reader.next());
+            assertEquals(4, reader.fieldCount());
+            assertEquals("Doe, Jane", reader.string(0));
+            assertEquals("say \"hi\"", reader.string(1));
+            assertEquals("two\nlines", reader.string(2));
+            assertEquals("plain", reader.string(3));
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void crlfAndLfLineEndsAndBlankLines() throws IOException {
+        Path file = write("a,1\r\nb,2\n\r\n\nc,3\rd,4");
+
+        assertEquals(List.of("a|1", "b|2", "c|3", "d|4"), readAll(file, 1024));
+    }
+
+    @Test
+    void recordsCrossingWindowBoundariesAreReadWhole() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            csv.append("name").append(i).append(",\"q,").append(i).append("\"\r\n");
+            expected.add("name" + i + "|q," + i);
+        }
+        Path file = write(csv.toString());
+
+        // Small windows split records, quoted fields and CRLF pairs at every offset
+        for (int window : new int[] {16, 17, 19, 23}) {
+            assertEquals(expected, readAll(file, window), "window " + window);
+        }
+    }
+
+    @Test
+    void recordNumbersCountTheHeader() throws IOException {
+        Path file = write("name,email,dob\nAnn,ann@example.com,2001-02-03\n");
+
+        try (MappedCsvReader reader = new MappedCsvReader(file, 1024)) {
+            assertTrue(reader.next());
+            assertEquals(1, reader.recordNumber());
+            assertTrue(reader.next());
+            assertEquals(2, reader.recordNumber());
+            assertEquals(LocalDate.of(2001, 2, 3), reader.date(2));
+        }
+    }
+
+    @Test
+    void invalidDatesAreRejected() throws IOException {
+        Path file = write("2001-02-30,2001/02/03,20x1-02-03\n");
+
+        try (MappedCsvReader reader = new MappedCsvReader(file, 1024)) {
+            assertTrue(reader.next());
+            assertThrows(IllegalArgumentException.class, () -> reader.date(0));
+            assertThrows(IllegalArgumentException.class, () -> reader.date(1));
+            assertThrows(IllegalArgumentException.class, () -> reader.date(2));
+        }
+    }
+
+    @Test
+    void skipRecordResumesAtTheNextLine() throws IOException {
+        Path file = write("a,1\n\"b\"x,2\r\nc,3\n" + "z,".repeat(70) + "\nd,4\n\"e,5\nf,6\n");
+
+        try (MappedCsvReader reader = new MappedCsvReader(file, 1024)) {
+            assertEquals("a", nextFirstField(reader));
+
+            IllegalArgumentException afterQuote = assertThrows(IllegalArgumentException.class, reader::next);
+            assertTrue(afterQuote.getMessage().startsWith("record 2 "), afterQuote.getMessage());
+            reader.skipRecord();
+            assertEquals("c", nextFirstField(reader));
+            assertEquals(3, reader.recordNumber());
+
+            IllegalArgumentException tooManyFields = assertThrows(IllegalArgumentException.class, reader::next);
+            assertTrue(tooManyFields.getMessage().startsWith("record 4 "), tooManyFields.getMessage());
+            reader.skipRecord();
+            assertEquals("d", nextFirstField(reader));
+
+            // An unterminated quote runs to the end of the file; reading resumes after its first line
+            IllegalArgumentException unterminated = assertThrows(IllegalArgumentException.class, reader::next);
+            assertTrue(unterminated.getMessage().contains("unterminated"), unterminated.getMessage());
+            reader.skipRecord();
+            assertEquals("f", nextFirstField(reader));
+            assertEquals(7, reader.recordNumber());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void skipRecordCrossesWindowsForRecordsLongerThanTheWindow() throws IOException {
+        Path file = write("a,1\n" + "x".repeat(100) + "\nb,2\n");
+
+        try (MappedCsvReader reader = new MappedCsvReader(file, 16)) {
+            assertEquals("a", nextFirstField(reader));
+            IllegalArgumentException tooLong = assertThrows(IllegalArgumentException.class, reader::next);
+            assertTrue(tooLong.getMessage().contains("longer than 16 bytes"), tooLong.getMessage());
+            reader.skipRecord();
+            assertEquals("b", nextFirstField(reader));
+            assertEquals(3, reader.recordNumber());
+            assertFalse(reader.next());
+        }
+    }
+
+    private Path write(String csv) throws IOException {
+        return Files.writeString(Files.createTempFile(directory, "reader-", ".csv"), csv, StandardCharsets.UTF_8);
+    }
+
+    private static String nextFirstField(MappedCsvReader reader) throws IOException {
+        assertTrue(reader.next());
+        return reader.string(0);
+    }
+
+    private static List<String> readAll(Path file, int windowBytes) throws IOException {
+        List<String> records = new ArrayList<>();
+        try (MappedCsvReader reader = new MappedCsvReader(file, windowBytes)) {
+            while (reader.next()) {
+                List<String> fields = new ArrayList<>();
+                for (int i = 0; i < reader.fieldCount(); i++) {
+                    fields.add(reader.string(i));
+                }
+                records.add(String.join("|", fields));
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.demo.model.Student;
+import com.example.demo.repository.StudentRepository;
+
+/**
+ * Imports into the dev schema, which Hibernate generates, with a read window and batch size small
+ * enough that records cross window boundaries and several batches are committed.
+ */
+@SpringBootTest(properties = {"student.csv.import.window-bytes=64", "student.csv.import.batch-size=2"})
+class StudentCsvServiceTests {
+
+    @Autowired
+    private StudentCsvService studentCsvService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    void importsQuotedFieldsAndCrlfAndRejectsBadRecords() throws IOException {
+        String csv = "id,name,email,dob\r\n"
+                + "9,\"Lovelace, Ada\",ada@csv.example,1815-12-10\r\n"
+                + "x,\"Grace \"\"Amazing\"\" Hopper\",grace@csv.example,1906-12-09\r\n"
+                + "x,\"Alan\"Turing,alan@csv.example,1912-06-23\r\n"
+                + "x,Edsger Dijkstra,edsger@csv.example,1930-05-11\r\n"
+                + "x,Barbara Liskov,barbara@csv.example,1939-11-07\r\n"
+                + "x,No Date,nodate@csv.example,1939-13-07\r\n"
+                + "x,Donald Knuth,donald@csv.example,1938-01-10\r\n";
+
+        StudentCsvService.ImportResult result = studentCsvService.importCsv(stream(csv));
+
+        assertEquals(5, result.imported());
+        assertEquals(2, result.rejected());
+        assertEquals(2, result.errors().size());
+        assertEquals("record 4 has characters after a closing quote", result.errors().get(0));
+        assertEquals("record 7: dob is not a valid date", result.errors().get(1));
+
+        Student ada = studentRepository.findStudentByEmail("ada@csv.example").orElseThrow();
+        assertEquals("Lovelace, Ada", ada.getName());
+        assertEquals(LocalDate.of(1815, 12, 10), ada.getDob());
+        assertEquals(0L, ada.getVersion());
+        assertEquals("Grace \"Amazing\" Hopper",
+                studentRepository.findStudentByEmail("grace@csv.example").orElseThrow().getName());
+        assertTrue(studentRepository.findStudentByEmail("edsger@csv.example").isPresent());
+        assertTrue(studentRepository.findStudentByEmail("barbara@csv.example").isPresent());
+        assertTrue(studentRepository.findStudentByEmail("donald@csv.example").isPresent());
+    }
+
+    @Test
+    void reimportUpdatesByEmailAndBumpsTheVersion() throws IOException {
+        studentCsvService.importCsv(stream("name,email,dob\nKen Thompson,ken@csv.example,1943-02-04\n"));
+        Student before = studentRepository.findStudentByEmail("ken@csv.example").orElseThrow();
+
+        StudentCsvService.ImportResult result = studentCsvService.importCsv(
+                stream("dob,email,name\n1943-02-04,ken@csv.example,Kenneth Thompson\n"));
+
+        assertEquals(1, result.imported());
+        Student after = studentRepository.findStudentByEmail("ken@csv.example").orElseThrow();
+        assertEquals(before.getId(), after.getId());
+        assertEquals("Kenneth Thompson", after.getName());
+        assertEquals(before.getVersion() + 1, after.getVersion());
+    }
+
+    @Test
+    void exportQuotesFieldsThatNeedIt() throws IOException {
+        studentCsvService.importCsv(stream("name,email,dob\n\"Hoare, Tony\",tony@csv.example,1934-01-11\n"));
+        Long id = studentRepository.findStudentByEmail("tony@csv.example").orElseThrow().getId();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        studentCsvService.exportCsv(out);
+
+        String exported = out.toString(StandardCharsets.UTF_8);
+        assertTrue(exported.startsWith("id,name,email,dob\n"));
+        assertTrue(exported.contains("\n" + id + ",\"Hoare, Tony\",tony@csv.example,1934-01-11\n"), exported);
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
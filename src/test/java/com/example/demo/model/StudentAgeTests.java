@@ -0,0 +1,40 @@
+package com.example.demo.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+class StudentAgeTests {
+
+    @Test
+    void leapDayBirthdaysTurnOverOnTheFirstOfMarchInOtherYears() {
+        LocalDate dob = LocalDate.of(2004, 2, 29);
+
+        assertEquals(20, StudentAge.yearsBetween(dob, LocalDate.of(2025, 2, 28)));
+        assertEquals(21, StudentAge.yearsBetween(dob, LocalDate.of(2025, 3, 1)));
+        assertEquals(19, StudentAge.yearsBetween(dob, LocalDate.of(2024, 2, 28)));
+        assertEquals(20, StudentAge.yearsBetween(dob, LocalDate.of(2024, 2, 29)));
+    }
+
+    @Test
+    void dobBoundsAgreeWithYearsBetweenAroundLeapDays() {
+        // Every day from 2023 to 2025 as "today", including 2024-02-29, against births near the leap day
+        for (LocalDate today = LocalDate.of(2023, 1, 1); today.isBefore(LocalDate.of(2026, 1, 1)); today = today.plusDays(1)) {
+            for (int age = 0; age <= 5; age++) {
+                LocalDate latest = StudentAge.latestDobForAge(age, today);
+                LocalDate earliest = StudentAge.earliestDobForAge(age, today);
+                for (int year = today.getYear() - 7; year <= today.getYear(); year++) {
+                    LocalDate end = LocalDate.of(year, 3, 10);
+                    for (LocalDate dob = LocalDate.of(year, 2, 20); dob.isBefore(end) && !dob.isAfter(today); dob = dob.plusDays(1)) {
+                        int years = StudentAge.yearsBetween(dob, today);
+                        String context = "dob " + dob + ", today " + today + ", age " + age;
+                        assertEquals(years >= age, !dob.isAfter(latest), context);
+                        assertEquals(years <= age, !dob.isBefore(earliest), context);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.outbound.singleflight;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.outbound.config.OutboundProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightGroupTests {
+
+    private static final String URL = "https://api.example.com/items";
+
+    private final SingleFlightGroup group = new SingleFlightGroup(new OutboundProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void everyForwardedHeaderIsPartOfTheKey() {
+        String tenantA = group.keyFor(URL, null, Map.of("X-Tenant", "a"));
+
+        assertNotEquals(group.keyFor(URL, null, null), tenantA);
+        assertNotEquals(tenantA, group.keyFor(URL, null, Map.of("X-Tenant", "b")));
+        assertNotEquals(group.keyFor(URL, null, Map.of("X-API-Key", "one")),
+                group.keyFor(URL, null, Map.of("X-API-Key", "two")));
+        assertNotEquals(group.keyFor(URL, null, Map.of("Cookie", "session=1")),
+                group.keyFor(URL, null, Map.of("Cookie", "session=2")));
+    }
+
+    @Test
+    void headerNamesAreCaseInsensitive() {
+        assertEquals(group.keyFor(URL, null, Map.of("Authorization", "Bearer t", "Accept", "application/json")),
+                group.keyFor(URL, null, Map.of("accept", "application/json", "AUTHORIZATION", "Bearer t")));
+    }
+
+    @Test
+    void ignoredTracingHeadersDoNotSplitTheKey() {
+        assertEquals(group.keyFor(URL, null, Map.of("Accept", "application/json")),
+                group.keyFor(URL, null, Map.of("Accept", "application/json", "X-Request-Id", "r1", "traceparent", "00-1")));
+    }
+
+    @Test
+    void urlsAndQueryParametersAreNormalized() {
+        assertEquals(group.keyFor("HTTPS://API.example.com:443/items?b=2&a=1", Map.of("c", "3"), null),
+                group.keyFor("https://api.example.com/items?a=1&c=3", Map.of("b", "2"), null));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.event.StudentChangedEvent;
+import com.example.demo.model.Student;
+import com.example.demo.model.StudentAge;
+import com.example.demo.repository.StudentRepository;
+
+class StudentAgeIndexTests {
+
+    private final StudentAgeIndex index = new StudentAgeIndex(mock(StudentRepository.class), true);
+    // What the index should hold, checked by brute force
+    private final Map<Long, LocalDate> students = new HashMap<>();
+    private LocalDate today;
+
+    @BeforeEach
+    void emptyIndex() {
+        index.rebuild(List.of());
+        today = StudentAge.today();
+    }
+
+    @Test
+    void bornTodayIsAgeZero() {
+        put(1L, today);
+        put(2L, today.minusDays(1));
+        put(3L, today.minusYears(1));
+
+        assertArrayEquals(new long[] {1, 2}, index.idsWithAgeBetween(0, 0));
+        assertArrayEquals(new long[] {1, 2}, index.idsYoungerThan(1));
+        assertEquals(2, index.countYoungerThan(1));
+        assertArrayEquals(new long[] {3}, index.idsOlderThan(0));
+        assertEquals(1, index.totalAge());
+    }
+
+    @Test
+    void minAndMaxAgesAreInclusive() {
+        // 1 turned 20 today and 2 turns 20 tomorrow; 3 turns 26 tomorrow and 4 turned 26 today
+        put(1L, StudentAge.latestDobForAge(20, today));
+        put(2L, StudentAge.latestDobForAge(20, today).plusDays(1));
+        put(3L, StudentAge.earliestDobForAge(25, today));
+        put(4L, StudentAge.earliestDobForAge(25, today).minusDays(1));
+
+        assertArrayEquals(new long[] {1, 3}, index.idsWithAgeBetween(20, 25));
+        assertEquals(2, index.countWithAgeBetween(20, 25));
+        assertArrayEquals(new long[] {2}, index.idsWithAgeBetween(19, 19));
+        assertArrayEquals(new long[] {4}, index.idsOlderThan(25));
+        assertArrayEquals(new long[] {2}, index.idsYoungerThan(20));
+    }
+
+    @Test
+    void leapDayBirthdaysMatchYearsBetween() {
+        long id = 1;
+        for (int year = 1996; year <= 2024; year += 4) {
+            put(id++, LocalDate.of(year, 2, 29));
+            put(id++, LocalDate.of(year, 2, 28));
+            put(id++, LocalDate.of(year, 3, 1));
+        }
+
+        assertMatchesBruteForce();
+    }
+
+    @Test
+    void addRemoveAndUpdateKeepTheIndexConsistent() {
+        Random random = new Random(7);
+        for (int step = 0; step < 2_000; step++) {
+            long id = 1 + random.nextInt(200);
+            LocalDate dob = today.minusDays(random.nextInt(40 * 366));
+            switch (random.nextInt(3)) {
+                // A create, or an update when the id exists, with a new dob and then with the same one
+                case 0 -> put(id, dob);
+                case 1 -> put(id, students.getOrDefault(id, dob));
+                default -> {
+                    students.remove(id);
+                    index.onStudentChanged(StudentChangedEvent.deleted(id));
+                }
+            }
+            if (step % 100 == 0) {
+                assertMatchesBruteForce();
+            }
+        }
+        assertMatchesBruteForce();
+    }
+
+    @Test
+    void rebuildReplacesTheContents() {
+        put(1L, today.minusYears(30));
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] {7L, today.minusYears(18)});
+        rows.add(new Object[] {8L, today.minusYears(19)});
+        index.rebuild(rows);
+
+        assertEquals(2, index.size());
+        assertArrayEquals(new long[] {7, 8}, index.idsWithAgeBetween(0, 100));
+    }
+
+    private void put(Long id, LocalDate dob) {
+        boolean exists = students.containsKey(id);
+        students.put(id, dob);
+        Student student = new Student(id, "Student " + id, "student" + id + "@example.com", dob);
+        index.onStudentChanged(exists ? StudentChangedEvent.updated(student) : StudentChangedEvent.created(student));
+    }
+
+    private void assertMatchesBruteForce() {
+        assertEquals(students.size(), index.size());
+        for (int min = 0; min <= 41; min += 3) {
+            int low = min;
+            for (int max = min; max <= min + 6; max++) {
+                int high = max;
+                assertArrayEquals(expectedIds(age -> age >= low && age <= high), index.idsWithAgeBetween(low, high),
+                        "ages " + low + "-" + high);
+                assertEquals(expectedIds(age -> age >= low && age <= high).length, index.countWithAgeBetween(low, high));
+            }
+            assertArrayEquals(expectedIds(age -> age > low), index.idsOlderThan(low), "older than " + low);
+            assertArrayEquals(expectedIds(age -> age < low), index.idsYoungerThan(low), "younger than " + low);
+            assertEquals(expectedIds(age -> age < low).length, index.countYoungerThan(low));
+        }
+        long totalAge = students.values().stream().mapToLong(dob -> StudentAge.yearsBetween(dob, today)).sum();
+        assertEquals(totalAge, index.totalAge());
+    }
+
+    private long[] expectedIds(IntPredicate age) {
+        return students.entrySet().stream()
+                .filter(entry -> age.test(StudentAge.yearsBetween(entry.getValue(), today)))
+                .mapToLong(Map.Entry::getKey)
+                .sorted()
+                .toArray();
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.metrics.RequestQueryCounter;
+import com.example.demo.model.Student;
+import com.example.demo.repository.StudentRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StudentByIdBatchLoaderTests {
+
+    private static final long HOUR_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final List<Set<Long>> queries = new CopyOnWriteArrayList<>();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private StudentByIdBatchLoader loader;
+
+    @BeforeEach
+    void recordQueries() {
+        when(studentRepository.findAllById(any())).thenAnswer(invocation -> {
+            Set<Long> ids = new HashSet<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(ids::add);
+            queries.add(ids);
+            List<Student> found = new ArrayList<>();
+            for (Long id : ids) {
+                if (id < 100) {
+                    found.add(student(id));
+                }
+            }
+            return found;
+        });
+    }
+
+    @AfterEach
+    void stop() {
+        callers.shutdownNow();
+        if (loader != null) {
+            loader.shutdown();
+        }
+    }
+
+    @Test
+    void lookupsInsideTheWindowShareOneQuery() throws Exception {
+        loader = loader(TimeUnit.MILLISECONDS.toMicros(300), 50, 5_000);
+
+        List<Future<Optional<Student>>> results = loadConcurrently(1L, 2L, 100L);
+
+        assertEquals(1L, results.get(0).get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        assertEquals(2L, results.get(1).get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        assertTrue(results.get(2).get(5, TimeUnit.SECONDS).isEmpty());
+        assertEquals(List.of(Set.of(1L, 2L, 100L)), queries);
+    }
+
+    @Test
+    void aFullBatchIsResolvedWithoutWaitingForTheWindow() throws Exception {
+        loader = loader(HOUR_MICROS, 3, 5_000);
+
+        List<Future<Optional<Student>>> results = loadConcurrently(1L, 2L, 3L);
+
+        for (Future<Optional<Student>> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS).isPresent());
+        }
+        assertEquals(List.of(Set.of(1L, 2L, 3L)), queries);
+    }
+
+    @Test
+    void repeatedIdsInABatchAreQueriedOnceAndShareTheResult() throws Exception {
+        loader = loader(HOUR_MICROS, 2, 5_000);
+
+        // The duplicate does not count towards the batch size, so the batch fills only at id 2
+        List<Future<Optional<Student>>> results = loadConcurrently(1L, 1L, 1L);
+        assertEquals(List.of(), queries);
+        Optional<Student> two = loader.load(2L);
+
+        Student first = results.get(0).get(5, TimeUnit.SECONDS).orElseThrow();
+        assertSame(first, results.get(1).get(5, TimeUnit.SECONDS).orElseThrow());
+        assertSame(first, results.get(2).get(5, TimeUnit.SECONDS).orElseThrow());
+        assertEquals(2L, two.orElseThrow().getId());
+        assertEquals(List.of(Set.of(1L, 2L)), queries);
+    }
+
+    @Test
+    void theBatchQueryIsCountedForEveryWaitingRequest() throws Exception {
+        RequestQueryCounter inspector = new RequestQueryCounter();
+        doAnswer(invocation -> {
+            inspector.inspect("select s from Student s where s.id in (?)");
+            return List.of();
+        }).when(studentRepository).findAllById(any());
+        loader = loader(HOUR_MICROS, 3, 5_000);
+
+        List<Future<Integer>> counts = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Long studentId = id;
+            counts.add(callers.submit(() -> {
+                RequestQueryCounter.start();
+                loader.load(studentId);
+                return RequestQueryCounter.stop();
+            }));
+            // The third caller fills the batch and runs the query on its own thread
+            Thread.sleep(50);
+        }
+
+        for (Future<Integer> count : counts) {
+            assertEquals(1, count.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void aFailedQueryFailsEveryWaiter() throws Exception {
+        IllegalStateException failure = new IllegalStateException("connection refused");
+        doThrow(failure).when(studentRepository).findAllById(any());
+        loader = loader(TimeUnit.MILLISECONDS.toMicros(300), 50, 5_000);
+
+        List<Future<Optional<Student>>> results = loadConcurrently(1L, 2L, 2L);
+
+        for (Future<Optional<Student>> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    void anErrorFromTheQueryStillCompletesEveryWaiter() throws Exception {
+        doThrow(new AssertionError("driver bug")).when(studentRepository).findAllById(any());
+        loader = loader(HOUR_MICROS, 2, 5_000);
+
+        Future<Optional<Student>> waiting = loadConcurrently(1L).get(0);
+        assertThrows(AssertionError.class, () -> loader.load(2L));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof AssertionError, String.valueOf(e.getCause()));
+    }
+
+    @Test
+    void lookupsAfterShutdownFailInsteadOfHanging() {
+        loader = loader(HOUR_MICROS, 50, 60_000);
+        loader.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> loader.load(1L));
+        assertEquals(List.of(), queries);
+    }
+
+    @Test
+    void aWaiterGivesUpAfterTheAwaitTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return List.of();
+        }).when(studentRepository).findAllById(any());
+        loader = loader(1_000, 50, 100);
+
+        try {
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> loader.load(1L));
+            assertTrue(e.getMessage().contains("student 1"), e.getMessage());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private StudentByIdBatchLoader loader(long windowMicros, int maxBatchSize, long awaitTimeoutMillis) {
+        return new StudentByIdBatchLoader(studentRepository, new SimpleMeterRegistry(), true,
+                windowMicros, maxBatchSize, awaitTimeoutMillis, false);
+    }
+
+    private List<Future<Optional<Student>>> loadConcurrently(Long... ids) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(ids.length);
+        List<Future<Optional<Student>>> results = new ArrayList<>();
+        for (Long id : ids) {
+            results.add(callers.submit(() -> {
+                started.countDown();
+                return loader.load(id);
+            }));
+        }
+        started.await();
+        // Give every caller time to join the open batch before the test goes on
+        Thread.sleep(100);
+        return results;
+    }
+
+    private static Student student(long id) {
+        return new Student(id, "Student " + id, "student" + id + "@example.com", LocalDate.of(2000, 1, 1));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.demo.model.Student;
+import com.example.demo.repository.StudentChangeRepository;
+import com.example.demo.repository.StudentRepository;
+
+@SpringBootTest
+class StudentServiceTests {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentChangeRepository studentChangeRepository;
+
+    @Test
+    void unchangedUpdateWritesNothing() {
+        Student student = new Student("Noop Update", "noop@service.example", LocalDate.of(2000, 1, 1));
+        studentService.addNewStudent(student);
+        long changes = studentChangeRepository.count();
+
+        studentService.updateStudent(student.getId(), "Noop Update", "noop@service.example");
+        studentService.updateStudent(student.getId(), null, "");
+
+        assertEquals(changes, studentChangeRepository.count());
+        assertEquals(0L, studentRepository.findById(student.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void changedUpdateIsLogged() {
+        Student student = new Student("Before Update", "changed@service.example", LocalDate.of(2000, 1, 1));
+        studentService.addNewStudent(student);
+        long changes = studentChangeRepository.count();
+
+        studentService.updateStudent(student.getId(), "After Update", null);
+
+        assertEquals(changes + 1, studentChangeRepository.count());
+        assertEquals(1L, studentRepository.findById(student.getId()).orElseThrow().getVersion());
+    }
+}
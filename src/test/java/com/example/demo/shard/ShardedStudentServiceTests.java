@@ -0,0 +1,149 @@
+package com.example.demo.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.model.Student;
+import com.example.demo.model.StudentAge;
+import com.example.demo.shard.config.ShardProperties;
+
+class ShardedStudentServiceTests {
+
+    private static final int SHARDS = 3;
+    private static final int STUDENTS = 23;
+
+    private StudentShards shards;
+    private ShardedStudentService service;
+    private final List<Student> created = new ArrayList<>();
+
+    @BeforeEach
+    void shards() {
+        // Fresh in-memory shards per test
+        String run = UUID.randomUUID().toString();
+        ShardProperties properties = new ShardProperties();
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            urls.add("jdbc:h2:mem:shard" + i + "-" + run + ";DB_CLOSE_DELAY=-1");
+        }
+        properties.setUrls(urls);
+        shards = new StudentShards(properties);
+        service = new ShardedStudentService(shards);
+
+        LocalDate today = StudentAge.today();
+        for (int i = 0; i < STUDENTS; i++) {
+            // Repeated names and birth dates, so ties are broken by id
+            String name = "Student " + (char) ('A' + i % 7);
+            LocalDate dob = today.minusYears(18 + i % 5).minusDays(i % 3);
+            created.add(service.addNewStudent(new Student(name, "student" + i + "@example.com", dob)));
+        }
+    }
+
+    @AfterEach
+    void closeShards() {
+        shards.destroy();
+    }
+
+    @Test
+    void studentsAreSpreadOverEveryShard() {
+        for (int i = 0; i < SHARDS; i++) {
+            long rows = shards.shard(i).queryForObject("SELECT COUNT(*) FROM student", Long.class);
+            assertTrue(rows > 0, "shard " + i + " is empty");
+        }
+    }
+
+    @Test
+    void pagesFollowTheGlobalOrderInBothDirections() {
+        Map<String, Comparator<Student>> columns = Map.of(
+                "id", Comparator.comparing(Student::getId),
+                "name", Comparator.comparing(Student::getName),
+                "dob", Comparator.comparing(Student::getDob));
+        for (Map.Entry<String, Comparator<Student>> column : columns.entrySet()) {
+            Comparator<Student> ascending = column.getValue().thenComparing(Student::getId);
+            for (String direction : List.of("asc", "desc")) {
+                List<Long> expected = created.stream()
+                        .sorted("asc".equals(direction) ? ascending : ascending.reversed())
+                        .map(Student::getId)
+                        .toList();
+                for (int size : new int[] {1, 4, 5, STUDENTS, STUDENTS + 1}) {
+                    List<Long> paged = new ArrayList<>();
+                    int page = 0;
+                    List<Student> students;
+                    do {
+                        students = service.searchStudents(null, null, null, null, page++, size, column.getKey(), direction);
+                        assertTrue(students.size() <= size);
+                        students.forEach(student -> paged.add(student.getId()));
+                    } while (students.size() == size);
+
+                    assertEquals(expected, paged, column.getKey() + " " + direction + ", size " + size);
+                }
+            }
+        }
+    }
+
+    @Test
+    void filtersApplyBeforePaging() {
+        List<Long> expected = created.stream()
+                .filter(student -> student.getName().equals("Student B") && student.getAge() >= 19 && student.getAge() <= 21)
+                .sorted(Comparator.comparing(Student::getId).reversed())
+                .map(Student::getId)
+                .toList();
+
+        assertTrue(expected.size() > 1);
+        List<Long> found = new ArrayList<>();
+        for (int page = 0; page < expected.size(); page++) {
+            service.searchStudents("student b", null, 19, 21, page, 1, "id", "desc")
+                    .forEach(student -> found.add(student.getId()));
+        }
+
+        assertEquals(expected, found);
+        assertEquals(List.of(), service.searchStudents("student b", null, 19, 21, expected.size(), 1, "id", "desc"));
+    }
+
+    @Test
+    void countAndStatisticsCoverEveryShard() {
+        assertEquals(STUDENTS, service.getStudentCount());
+
+        Map<String, Object> statistics = service.getStudentStatistics();
+        double averageAge = created.stream().mapToInt(Student::getAge).average().orElseThrow();
+        assertEquals((long) STUDENTS, statistics.get("totalStudents"));
+        assertEquals(Math.round(averageAge * 100.0) / 100.0, statistics.get("averageAge"));
+        @SuppressWarnings("unchecked")
+        Map<String, Long> groups = (Map<String, Long>) statistics.get("ageDistribution");
+        assertEquals(STUDENTS, groups.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(SHARDS, statistics.get("shards"));
+    }
+
+    @Test
+    void emailsAreUniqueAcrossShards() {
+        Student first = created.get(0);
+        // A student on another shard, to move onto the first student's email
+        Student other = created.stream()
+                .filter(student -> shards.shardOf(student.getId()) != shards.shardOf(first.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        IllegalStateException duplicate = assertThrows(IllegalStateException.class,
+                () -> service.addNewStudent(new Student("Copy", first.getEmail(), first.getDob())));
+        assertEquals("email taken", duplicate.getMessage());
+        assertThrows(IllegalStateException.class, () -> service.updateStudent(other.getId(), null, first.getEmail()));
+        assertEquals(STUDENTS, service.getStudentCount());
+
+        // Deleting releases the email, and an update releases the old one
+        service.deleteStudent(first.getId());
+        service.updateStudent(other.getId(), null, first.getEmail());
+        service.addNewStudent(new Student("Reuse", other.getEmail(), other.getDob()));
+        assertEquals(STUDENTS, service.getStudentCount());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo.stub;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.demo.jwt.client.JwtServiceClient;
+import com.example.demo.service.ExternalApiService;
+
+@SpringBootTest
+class OfflineUpstreamTests {
+
+    private static final StubUpstreamServer stub = startStub();
+
+    @Autowired
+    private ExternalApiService externalApiService;
+
+    @Autowired
+    private JwtServiceClient jwtServiceClient;
+
+    private static StubUpstreamServer startStub() {
+        try {
+            return StubUpstreamServer.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        stub.applicationProperties().forEach((key, value) -> registry.add(key, () -> value));
+        registry.add("jwt.centralized-service.max-retries", () -> "1");
+    }
+
+    @AfterEach
+    void resetStub() {
+        stub.reset();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void externalApiCallsAreServedByStub() {
+        Map<String, Object> response = externalApiService.getJsonPlaceholderUser(7L);
+
+        assertEquals(200, response.get("status"));
+        assertEquals("Stub User 7", ((Map<?, ?>) response.get("data")).get("name"));
+    }
+
+    @Test
+    void injectedFailuresSurfaceAsErrorResponses() {
+        stub.configure(StubUpstreamServer.Route.JOKE,
+                StubUpstreamServer.Behavior.fixed(0).withErrorRate(1.0, 503));
+
+        Map<String, Object> response = externalApiService.getRandomJoke();
+
+        assertEquals(true, response.get("error"));
+        assertEquals(503, response.get("status"));
+    }
+
+    @Test
+    void jwtContractRoundTrip() {
+        JwtServiceClient.JwtResponse generated = jwtServiceClient.generateToken("user", "USER");
+        assertNotNull(generated.getToken());
+
+        JwtServiceClient.JwtValidationResponse validation = jwtServiceClient.validateToken(generated.getToken());
+        assertTrue(validation.getValid());
+        assertEquals("user", validation.getUsername());
+
+        assertTrue(jwtServiceClient.revokeToken(generated.getToken()));
+        assertEquals(false, jwtServiceClient.validateToken(generated.getToken()).getValid());
+    }
+}
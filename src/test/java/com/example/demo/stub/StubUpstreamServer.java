@@ -0,0 +1,414 @@
+package com.example.demo.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded stand-in for every upstream the application calls: the joke API, JSONPlaceholder,
+ * the universities, REST Countries and Open Library APIs, and the centralized JWT service's
+ * generate/validate/revoke contract. All routes are served from one port, so pointing the
+ * {@code outbound.upstreams.*} base URLs and {@code jwt.centralized-service.base-url} at
+ * {@link #getBaseUrl()} makes the whole outbound path run offline.
+ *
+ * Each route can be given a latency distribution, an error rate and a response payload size
+ * through {@link #configure(Route, Behavior)}; routes without their own behavior use the default.
+ *
+ * Run standalone for benchmarks with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.demo.stub.StubUpstreamServer -Dexec.args="8099"}.
+ */
+public class StubUpstreamServer implements AutoCloseable {
+
+    public enum Route {
+        JOKE, USERS, POSTS, UNIVERSITIES, COUNTRIES, OPEN_LIBRARY, JWT
+    }
+
+    public enum Distribution {
+        FIXED, UNIFORM, EXPONENTIAL, LOG_NORMAL
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Route, Behavior> behaviors = new ConcurrentHashMap<>();
+    private final Map<Route, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    private final Map<String, String[]> issuedTokens = new ConcurrentHashMap<>();
+    private volatile Behavior defaultBehavior = new Behavior();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public StubUpstreamServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+
+        server.createContext("/random_joke", exchange -> handle(exchange, Route.JOKE, this::joke));
+        server.createContext("/users/", exchange -> handle(exchange, Route.USERS, this::user));
+        server.createContext("/posts", exchange -> handle(exchange, Route.POSTS, this::post));
+        server.createContext("/search.json", exchange -> handle(exchange, Route.OPEN_LIBRARY, this::books));
+        server.createContext("/search", exchange -> handle(exchange, Route.UNIVERSITIES, this::universities));
+        server.createContext("/v3.1/alpha/", exchange -> handle(exchange, Route.COUNTRIES, this::country));
+        server.createContext("/api/v1/jwt/generate", exchange -> handle(exchange, Route.JWT, this::generateToken));
+        server.createContext("/api/v1/jwt/validate", exchange -> handle(exchange, Route.JWT, this::validateToken));
+        server.createContext("/api/v1/jwt/revoke", exchange -> handle(exchange, Route.JWT, this::revokeToken));
+    }
+
+    /**
+     * Start a stub on an ephemeral port
+     */
+    public static StubUpstreamServer start() throws IOException {
+        return start(0);
+    }
+
+    public static StubUpstreamServer start(int port) throws IOException {
+        StubUpstreamServer stub = new StubUpstreamServer(port);
+        stub.server.start();
+        return stub;
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Application properties that route every upstream call to this stub
+     */
+    public Map<String, String> applicationProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("outbound.upstreams.joke-api-base-url", getBaseUrl());
+        properties.put("outbound.upstreams.json-placeholder-base-url", getBaseUrl());
+        properties.put("outbound.upstreams.universities-base-url", getBaseUrl());
+        properties.put("outbound.upstreams.rest-countries-base-url", getBaseUrl());
+        properties.put("outbound.upstreams.open-library-base-url", getBaseUrl());
+        properties.put("jwt.centralized-service.base-url", getBaseUrl());
+        return properties;
+    }
+
+    public void configure(Route route, Behavior behavior) {
+        behaviors.put(route, behavior);
+    }
+
+    public void configureDefault(Behavior behavior) {
+        this.defaultBehavior = behavior;
+    }
+
+    public void reset() {
+        behaviors.clear();
+        requestCounts.clear();
+        defaultBehavior = new Behavior();
+    }
+
+    public long getRequestCount(Route route) {
+        AtomicLong count = requestCounts.get(route);
+        return count != null ? count.get() : 0;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // Request handling
+
+    @FunctionalInterface
+    private interface RouteHandler {
+        Object respond(HttpExchange exchange, Behavior behavior) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, Route route, RouteHandler handler) throws IOException {
+        requestCounts.computeIfAbsent(route, r -> new AtomicLong()).incrementAndGet();
+        Behavior behavior = behaviors.getOrDefault(route, defaultBehavior);
+        try {
+            Thread.sleep(behavior.sampleLatencyMs());
+
+            if (behavior.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < behavior.getErrorRate()) {
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("success", false);
+                error.put("message", "Injected failure from stub upstream");
+                send(exchange, behavior.getErrorStatus(), error);
+                return;
+            }
+
+            Object body = handler.respond(exchange, behavior);
+            if (body == null) {
+                send(exchange, 404, Map.of("message", "Not found"));
+            } else {
+                send(exchange, 200, body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readAllBytes();
+            return bytes.length == 0 ? objectMapper.createObjectNode() : objectMapper.readTree(bytes);
+        }
+    }
+
+    private static String lastPathSegment(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static String padding(Behavior behavior) {
+        return behavior.getPayloadBytes() > 0 ? "x".repeat(behavior.getPayloadBytes()) : null;
+    }
+
+    // Third-party API imitations
+
+    private Object joke(HttpExchange exchange, Behavior behavior) {
+        Map<String, Object> joke = new LinkedHashMap<>();
+        joke.put("id", ThreadLocalRandom.current().nextInt(1, 400));
+        joke.put("type", "general");
+        joke.put("setup", "Why don't scientists trust atoms?");
+        joke.put("punchline", "Because they make up everything!");
+        joke.put("padding", padding(behavior));
+        return joke;
+    }
+
+    private Object user(HttpExchange exchange, Behavior behavior) {
+        String id = lastPathSegment(exchange);
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("id", Long.parseLong(id));
+        user.put("name", "Stub User " + id);
+        user.put("username", "stub" + id);
+        user.put("email", "stub" + id + "@example.com");
+        user.put("company", Map.of("name", "Stub Corp", "catchPhrase", "Offline by design"));
+        user.put("padding", padding(behavior));
+        return user;
+    }
+
+    private Object post(HttpExchange exchange, Behavior behavior) throws IOException {
+        JsonNode request = readBody(exchange);
+        Map<String, Object> post = new LinkedHashMap<>();
+        post.put("id", 101);
+        post.put("title", request.path("title").asText(null));
+        post.put("body", request.path("body").asText(null));
+        post.put("userId", request.path("userId").asLong());
+        post.put("padding", padding(behavior));
+        return post;
+    }
+
+    private Object universities(HttpExchange exchange, Behavior behavior) {
+        String query = exchange.getRequestURI().getRawQuery();
+        Map<String, Object> university = new LinkedHashMap<>();
+        university.put("name", "Stub University");
+        university.put("country", "United States");
+        university.put("web_pages", List.of("https://stub.example.edu"));
+        university.put("query", query);
+        university.put("padding", padding(behavior));
+        return List.of(university);
+    }
+
+    private Object country(HttpExchange exchange, Behavior behavior) {
+        String code = lastPathSegment(exchange);
+        Map<String, Object> country = new LinkedHashMap<>();
+        country.put("cca2", code.toUpperCase());
+        country.put("name", Map.of("common", "Stubland " + code.toUpperCase()));
+        country.put("population", 1_000_000);
+        country.put("padding", padding(behavior));
+        return List.of(country);
+    }
+
+    private Object books(HttpExchange exchange, Behavior behavior) {
+        List<Map<String, Object>> docs = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            docs.add(Map.of("title", "Stub Book " + i, "author_name", List.of("Stub Author")));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("numFound", docs.size());
+        result.put("docs", docs);
+        result.put("padding", padding(behavior));
+        return result;
+    }
+
+    // Centralized JWT service imitation: {success, data, message} envelopes
+
+    private Object generateToken(HttpExchange exchange, Behavior behavior) throws IOException {
+        JsonNode request = readBody(exchange);
+        String username = request.path("username").asText();
+        String role = request.path("role").asText("USER");
+        String token = "stub." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((username + ":" + role + ":" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        issuedTokens.put(token, new String[] {username, role});
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("token", token);
+        data.put("type", "Bearer");
+        data.put("username", username);
+        data.put("role", role);
+        data.put("expiresIn", 86400000L);
+        return envelope(data, "Token generated");
+    }
+
+    private Object validateToken(HttpExchange exchange, Behavior behavior) throws IOException {
+        String token = readBody(exchange).path("token").asText();
+        String[] owner = issuedTokens.get(token);
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("valid", owner != null);
+        data.put("username", owner != null ? owner[0] : null);
+        data.put("role", owner != null ? owner[1] : null);
+        data.put("message", owner != null ? "Token is valid" : "Token is invalid or revoked");
+        return envelope(data, null);
+    }
+
+    private Object revokeToken(HttpExchange exchange, Behavior behavior) throws IOException {
+        String token = readBody(exchange).path("token").asText();
+        boolean revoked = issuedTokens.remove(token) != null;
+        return envelope(Map.of("revoked", revoked), revoked ? "Token revoked" : "Token not found");
+    }
+
+    private static Map<String, Object> envelope(Object data, String message) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("data", data);
+        response.put("message", message);
+        return response;
+    }
+
+    /**
+     * Latency, error and payload settings for a route
+     */
+    public static class Behavior {
+
+        private Distribution distribution = Distribution.FIXED;
+        private long minLatencyMs = 0;
+        private long meanLatencyMs = 0;
+        private long maxLatencyMs = 10000;
+        private double logNormalSigma = 0.5;
+        private double errorRate = 0.0;
+        private int errorStatus = 503;
+        private int payloadBytes = 0;
+
+        public Behavior() {
+        }
+
+        public static Behavior fixed(long latencyMs) {
+            Behavior behavior = new Behavior();
+            behavior.setMeanLatencyMs(latencyMs);
+            return behavior;
+        }
+
+        public static Behavior uniform(long minLatencyMs, long maxLatencyMs) {
+            Behavior behavior = new Behavior();
+            behavior.setDistribution(Distribution.UNIFORM);
+            behavior.setMinLatencyMs(minLatencyMs);
+            behavior.setMaxLatencyMs(maxLatencyMs);
+            return behavior;
+        }
+
+        public static Behavior exponential(long meanLatencyMs, long maxLatencyMs) {
+            Behavior behavior = new Behavior();
+            behavior.setDistribution(Distribution.EXPONENTIAL);
+            behavior.setMeanLatencyMs(meanLatencyMs);
+            behavior.setMaxLatencyMs(maxLatencyMs);
+            return behavior;
+        }
+
+        public static Behavior logNormal(long medianLatencyMs, double sigma, long maxLatencyMs) {
+            Behavior behavior = new Behavior();
+            behavior.setDistribution(Distribution.LOG_NORMAL);
+            behavior.setMeanLatencyMs(medianLatencyMs);
+            behavior.setLogNormalSigma(sigma);
+            behavior.setMaxLatencyMs(maxLatencyMs);
+            return behavior;
+        }
+
+        long sampleLatencyMs() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double sample = switch (distribution) {
+                case FIXED -> meanLatencyMs;
+                case UNIFORM -> maxLatencyMs > minLatencyMs ? random.nextLong(minLatencyMs, maxLatencyMs + 1) : minLatencyMs;
+                case EXPONENTIAL -> minLatencyMs - meanLatencyMs * Math.log(1.0 - random.nextDouble());
+                // meanLatencyMs is the median for the log-normal distribution
+                case LOG_NORMAL -> minLatencyMs + meanLatencyMs * Math.exp(logNormalSigma * random.nextGaussian());
+            };
+            return Math.max(0, Math.min(maxLatencyMs, Math.round(sample)));
+        }
+
+        public Behavior withErrorRate(double errorRate, int errorStatus) {
+            this.errorRate = errorRate;
+            this.errorStatus = errorStatus;
+            return this;
+        }
+
+        public Behavior withPayloadBytes(int payloadBytes) {
+            this.payloadBytes = payloadBytes;
+            return this;
+        }
+
+        // Getters and setters
+        public Distribution getDistribution() { return distribution; }
+        public void setDistribution(Distribution distribution) { this.distribution = distribution; }
+        public long getMinLatencyMs() { return minLatencyMs; }
+        public void setMinLatencyMs(long minLatencyMs) { this.minLatencyMs = minLatencyMs; }
+        public long getMeanLatencyMs() { return meanLatencyMs; }
+        public void setMeanLatencyMs(long meanLatencyMs) { this.meanLatencyMs = meanLatencyMs; }
+        public long getMaxLatencyMs() { return maxLatencyMs; }
+        public void setMaxLatencyMs(long maxLatencyMs) { this.maxLatencyMs = maxLatencyMs; }
+        public double getLogNormalSigma() { return logNormalSigma; }
+        public void setLogNormalSigma(double logNormalSigma) { this.logNormalSigma = logNormalSigma; }
+        public double getErrorRate() { return errorRate; }
+        public void setErrorRate(double errorRate) { this.errorRate = errorRate; }
+        public int getErrorStatus() { return errorStatus; }
+        public void setErrorStatus(int errorStatus) { this.errorStatus = errorStatus; }
+        public int getPayloadBytes() { return payloadBytes; }
+        public void setPayloadBytes(int payloadBytes) { this.payloadBytes = payloadBytes; }
+    }
+
+    /**
+     * Standalone entry point: {@code [port] [meanLatencyMs] [errorRate] [payloadBytes]}
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8099;
+        StubUpstreamServer stub = start(port);
+        if (args.length > 1) {
+            Behavior behavior = Behavior.exponential(Long.parseLong(args[1]), 30000);
+            if (args.length > 2) {
+                behavior.withErrorRate(Double.parseDouble(args[2]), 503);
+            }
+            if (args.length > 3) {
+                behavior.withPayloadBytes(Integer.parseInt(args[3]));
+            }
+            stub.configureDefault(behavior);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+
+        System.out.println("Stub upstream server listening on " + stub.getBaseUrl());
+        System.out.println("Start the application with:");
+        stub.applicationProperties().forEach((key, value) -> System.out.println("  --" + key + "=" + value));
+        Thread.currentThread().join();
+    }
+}